@@ -0,0 +1,356 @@
+import java.util.Arrays;
+
+/**
+* Defines a library of selection methods on arrays of doubles. These
+* are the Selector methods specialized for double values so that no
+* value is ever boxed, plus overloads that take a DoubleComparator.
+*
+* Without a comparator, values are ordered as by Double.compare: -0.0
+* is less than 0.0, and NaN is greater than every other value and
+* equal to itself. Internally each double is mapped to a long whose
+* signed order is that same order, so selection runs on the long
+* engine and the kmin and kmax scratch buffers are long arrays.
+*
+* @version  2018-01-16
+*
+*/
+public final class DoubleSelector {
+
+   /**
+    * Can't instantiate this class.
+    */
+   private DoubleSelector() { }
+
+
+   /**
+    * Selects the minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static double min(double[] a) throws IllegalArgumentException {
+      check(a);
+      long min = key(a[0]);
+      for (int i = 1; i < a.length; i++) {
+         min = Math.min(min, key(a[i]));
+      }
+      return value(min);
+   }
+
+
+   /**
+    * Selects the maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static double max(double[] a) throws IllegalArgumentException {
+      check(a);
+      long max = key(a[0]);
+      for (int i = 1; i < a.length; i++) {
+         max = Math.max(max, key(a[i]));
+      }
+      return value(max);
+   }
+
+
+   /**
+    * Selects the minimum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static double min(double[] a, DoubleComparator comp) throws IllegalArgumentException {
+      check(a);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      double min = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], min) < 0) {
+            min = a[i];
+         }
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static double max(double[] a, DoubleComparator comp) throws IllegalArgumentException {
+      check(a);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      double max = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], max) > 0) {
+            max = a[i];
+         }
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth minimum value. Note that there is no kth
+    * minimum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public static double kmin(double[] a, int k) throws IllegalArgumentException {
+      check(a, k);
+      return kmin(a, k, new long[a.length]);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmin(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static double kmin(double[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k, scratch);
+      for (int i = 0; i < a.length; i++) {
+         scratch[i] = key(a[i]);
+      }
+      return value(QuickSelect.kminDistinct(scratch, a.length, k));
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth maximum value. Note that there is no kth
+    * maximum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public static double kmax(double[] a, int k) throws IllegalArgumentException {
+      check(a, k);
+      return kmax(a, k, new long[a.length]);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmax(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static double kmax(double[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k, scratch);
+      for (int i = 0; i < a.length; i++) {
+         scratch[i] = ~key(a[i]);
+      }
+      return value(~QuickSelect.kminDistinct(scratch, a.length, k));
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmin(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static double kmin(double[] a, int k, DoubleComparator comp, long[] scratch)
+      throws IllegalArgumentException {
+      return kth(a, k, comp, scratch, false);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmax(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static double kmax(double[] a, int k, DoubleComparator comp, long[] scratch)
+      throws IllegalArgumentException {
+      return kth(a, k, comp, scratch, true);
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the
+    * range [low..high], including duplicate values, in the order
+    * they appear in a. If there are no qualifying values, this
+    * method returns a zero-length array. This method throws an
+    * IllegalArgumentException if a is null or has zero length.
+    * The array a is not changed by this method.
+    */
+   public static double[] range(double[] a, double low, double high) throws IllegalArgumentException {
+      check(a);
+      long lowKey = key(low);
+      long highKey = key(high);
+      if (lowKey > highKey) {
+         return new double[0];
+      }
+      double[] values = new double[a.length];
+      int n = range(a, low, high, values);
+      return (n == values.length) ? values : Arrays.copyOf(values, n);
+   }
+
+
+   /**
+    * Copies all the values in a in the range [low..high], including
+    * duplicate values, into the front of out in a single pass and
+    * returns how many were copied. This method throws an
+    * IllegalArgumentException if a is null or has zero length, or if
+    * out is null or shorter than a. The array a is not changed by this
+    * method.
+    */
+   public static int range(double[] a, double low, double high, double[] out)
+      throws IllegalArgumentException {
+      check(a);
+      if ((out == null) || (out.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+      long lowKey = key(low);
+      long highKey = key(high);
+      if (lowKey > highKey) {
+         return 0;
+      }
+      int n = 0;
+      for (int i = 0; i < a.length; i++) {
+         out[n] = a[i];
+         n += LongSelector.inRange(key(a[i]), lowKey, highKey) ? 1 : 0;
+      }
+      return n;
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to
+    * the given key. This method throws an IllegalArgumentException if
+    * a is null or has zero length, or if there is no qualifying
+    * value. The array a is not changed by this method.
+    */
+   public static double ceiling(double[] a, double key) throws IllegalArgumentException {
+      check(a);
+      long target = key(key);
+      boolean found = false;
+      long ceiling = 0;
+      for (int i = 0; i < a.length; i++) {
+         long k = key(a[i]);
+         if ((k >= target) && (!found || (k < ceiling))) {
+            ceiling = k;
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException();
+      }
+      return value(ceiling);
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to
+    * the given key. This method throws an IllegalArgumentException if
+    * a is null or has zero length, or if there is no qualifying
+    * value. The array a is not changed by this method.
+    */
+   public static double floor(double[] a, double key) throws IllegalArgumentException {
+      check(a);
+      long target = key(key);
+      boolean found = false;
+      long floor = 0;
+      for (int i = 0; i < a.length; i++) {
+         long k = key(a[i]);
+         if ((k <= target) && (!found || (k > floor))) {
+            floor = k;
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException();
+      }
+      return value(floor);
+   }
+
+
+   /**
+    * Selects the kth minimum, or kth maximum if reverse is true, as
+    * defined by comp. The raw bits of each value are stored in scratch
+    * so the long engine can be reused.
+    */
+   private static double kth(double[] a, int k, final DoubleComparator comp, long[] scratch,
+                             boolean reverse) throws IllegalArgumentException {
+      check(a, k, scratch);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      for (int i = 0; i < a.length; i++) {
+         scratch[i] = Double.doubleToRawLongBits(a[i]);
+      }
+      LongComparator bits = (x, y) -> comp.compare(Double.longBitsToDouble(x), Double.longBitsToDouble(y));
+      return Double.longBitsToDouble(QuickSelect.kminDistinct(scratch, a.length, k, bits, reverse));
+   }
+
+
+   /**
+    * Returns a long whose signed order matches the Double.compare
+    * order of d. Positive doubles keep their bits; negative doubles
+    * have their magnitude bits flipped so larger magnitudes sort
+    * lower. All NaNs map to the same key.
+    */
+   static long key(double d) {
+      long bits = Double.doubleToLongBits(d);
+      return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+   }
+
+
+   /**
+    * Returns the double whose key is k. This is the inverse of key.
+    */
+   static double value(long k) {
+      return Double.longBitsToDouble(k ^ ((k >> 63) & Long.MAX_VALUE));
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if a is null or has zero length.
+    */
+   private static void check(double[] a) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if a is null or has zero length,
+    * or if k < 1 or k > a.length.
+    */
+   private static void check(double[] a, int k) throws IllegalArgumentException {
+      check(a);
+      if ((k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if check(a, k) does, or if
+    * scratch is null or shorter than a.
+    */
+   private static void check(double[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k);
+      if ((scratch == null) || (scratch.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+}
@@ -0,0 +1,18 @@
+/**
+* Defines a total order on int values without boxing them, for use
+* with the comparator-based selection methods.
+*
+* @version  2018-01-16
+*
+*/
+public interface IntComparator {
+
+   /**
+    * Compares x and y for order. Returns a negative integer, zero, or
+    * a positive integer if x is less than, equal to, or greater than y.
+    * Values that compare equal are treated as duplicates by the
+    * selection methods.
+    */
+   int compare(int x, int y);
+
+}
@@ -0,0 +1,333 @@
+import java.util.Arrays;
+
+/**
+* Incremental version of Selector for values that arrive one at a time
+* or in batches, such as values read from a log file. The whole input
+* is never stored: only the running minimum and maximum, the k smallest
+* and k largest distinct values seen so far, and counts are kept, so
+* memory use is O(k) no matter how many values are added. The k
+* smallest values are kept in a bounded max-heap and the k largest in a
+* bounded min-heap, so adding a value costs O(log k) at worst.
+*
+* @version  2018-01-16
+*
+*/
+public final class IntSelectorStream {
+
+   /** largest k for which kmin and kmax can be answered. */
+   private final int k;
+
+   /** smallest distinct values seen. */
+   private final BoundedHeap smallest;
+
+   /**
+    * complements of the largest distinct values seen; keeping the
+    * smallest complements makes this a min-heap of the values.
+    */
+   private final BoundedHeap largest;
+
+   /** bounds of the range whose values are counted. */
+   private final int low;
+   private final int high;
+
+   /** number of values added, and how many fell in [low..high]. */
+   private long count;
+   private long rangeCount;
+
+   /** running minimum and maximum. */
+   private int min;
+   private int max;
+
+
+   /**
+    * Creates an empty stream that can answer kmin and kmax for any
+    * value up to k. This constructor throws IllegalArgumentException
+    * if k < 1.
+    */
+   public IntSelectorStream(int k) throws IllegalArgumentException {
+      this(k, 0, -1);
+   }
+
+
+   /**
+    * Creates an empty stream that can answer kmin and kmax for any
+    * value up to k, and that counts the values added in the range
+    * [low..high]. This constructor throws IllegalArgumentException if
+    * k < 1.
+    */
+   public IntSelectorStream(int k, int low, int high) throws IllegalArgumentException {
+      if (k < 1) {
+         throw new IllegalArgumentException();
+      }
+      this.k = k;
+      this.smallest = new BoundedHeap(k);
+      this.largest = new BoundedHeap(k);
+      this.low = low;
+      this.high = high;
+   }
+
+
+   /**
+    * Adds one value to this stream.
+    */
+   public void add(int value) {
+      if (count == 0) {
+         min = value;
+         max = value;
+      }
+      else {
+         min = Math.min(min, value);
+         max = Math.max(max, value);
+      }
+      count++;
+      if ((value >= low) && (value <= high)) {
+         rangeCount++;
+      }
+      smallest.offer(value);
+      largest.offer(~value);
+   }
+
+
+   /**
+    * Adds every value in the array a to this stream. This method
+    * throws IllegalArgumentException if a is null.
+    */
+   public void addAll(int[] a) throws IllegalArgumentException {
+      if (a == null) {
+         throw new IllegalArgumentException();
+      }
+      addAll(a, 0, a.length);
+   }
+
+
+   /**
+    * Adds the values a[from..to-1] to this stream. This method throws
+    * IllegalArgumentException if a is null or the bounds are not
+    * within a.
+    */
+   public void addAll(int[] a, int from, int to) throws IllegalArgumentException {
+      if ((a == null) || (from < 0) || (to > a.length) || (from > to)) {
+         throw new IllegalArgumentException();
+      }
+      for (int i = from; i < to; i++) {
+         add(a[i]);
+      }
+   }
+
+
+   /**
+    * Returns the number of values added so far, including duplicates.
+    */
+   public long count() {
+      return count;
+   }
+
+
+   /**
+    * Returns the number of values added so far, including duplicates,
+    * that are in the range given when this stream was created. Returns
+    * zero if no range was given.
+    */
+   public long rangeCount() {
+      return rangeCount;
+   }
+
+
+   /**
+    * Selects the minimum value added so far. This method throws
+    * IllegalStateException if no values have been added.
+    */
+   public int min() throws IllegalStateException {
+      if (count == 0) {
+         throw new IllegalStateException();
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value added so far. This method throws
+    * IllegalStateException if no values have been added.
+    */
+   public int max() throws IllegalStateException {
+      if (count == 0) {
+         throw new IllegalStateException();
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the jth minimum value added so far, with the same meaning
+    * as Selector.kmin. This method throws IllegalArgumentException if
+    * j < 1, if j is larger than the k this stream was created with, or
+    * if fewer than j distinct values have been added.
+    */
+   public int kmin(int j) throws IllegalArgumentException {
+      if ((j < 1) || (j > smallest.size)) {
+         throw new IllegalArgumentException();
+      }
+      return smallest.get(j);
+   }
+
+
+   /**
+    * Selects the jth maximum value added so far, with the same meaning
+    * as Selector.kmax. This method throws IllegalArgumentException if
+    * j < 1, if j is larger than the k this stream was created with, or
+    * if fewer than j distinct values have been added.
+    */
+   public int kmax(int j) throws IllegalArgumentException {
+      if ((j < 1) || (j > largest.size)) {
+         throw new IllegalArgumentException();
+      }
+      return ~largest.get(j);
+   }
+
+
+   /**
+    * The k smallest distinct values offered so far, held in a max-heap
+    * so that the largest of them is the one compared against and
+    * evicted. An open-addressing hash set of the same values rejects
+    * duplicates in expected constant time. The values are sorted only
+    * when they are queried after a change.
+    */
+   private static final class BoundedHeap {
+      private final int[] heap;
+      private int size;
+
+      /** the values in heap, by linear probing; used[i] marks a slot. */
+      private final int[] slots;
+      private final boolean[] used;
+      private final int mask;
+      private final int shift;
+
+      /** the values in ascending order, valid while sorted is true. */
+      private final int[] order;
+      private boolean sorted = true;
+
+      BoundedHeap(int k) {
+         heap = new int[k];
+         int capacity = Integer.highestOneBit(Math.max(k, 2) - 1) << 2;
+         slots = new int[capacity];
+         used = new boolean[capacity];
+         mask = capacity - 1;
+         shift = Integer.numberOfLeadingZeros(mask);
+         order = new int[k];
+      }
+
+      /**
+       * Adds value if it is not already held and is smaller than the
+       * largest value held or the heap is not full.
+       */
+      void offer(int value) {
+         if ((size == heap.length) && (value >= heap[0])) {
+            return;
+         }
+         if (contains(value)) {
+            return;
+         }
+         if (size == heap.length) {
+            remove(heap[0]);
+            heap[0] = value;
+            siftDown(0);
+         }
+         else {
+            heap[size] = value;
+            siftUp(size);
+            size++;
+         }
+         insert(value);
+         sorted = false;
+      }
+
+      /**
+       * Returns the jth smallest value held, 1 <= j <= size.
+       */
+      int get(int j) {
+         if (!sorted) {
+            System.arraycopy(heap, 0, order, 0, size);
+            Arrays.sort(order, 0, size);
+            sorted = true;
+         }
+         return order[j - 1];
+      }
+
+      private void siftUp(int i) {
+         int value = heap[i];
+         while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= value) {
+               break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+         }
+         heap[i] = value;
+      }
+
+      private void siftDown(int i) {
+         int value = heap[i];
+         int half = size >>> 1;
+         while (i < half) {
+            int child = 2 * i + 1;
+            if ((child + 1 < size) && (heap[child + 1] > heap[child])) {
+               child++;
+            }
+            if (value >= heap[child]) {
+               break;
+            }
+            heap[i] = heap[child];
+            i = child;
+         }
+         heap[i] = value;
+      }
+
+      private int slot(int value) {
+         return (value * 0x9E3779B9) >>> shift;
+      }
+
+      private boolean contains(int value) {
+         for (int i = slot(value); used[i]; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      private void insert(int value) {
+         int i = slot(value);
+         while (used[i]) {
+            i = (i + 1) & mask;
+         }
+         slots[i] = value;
+         used[i] = true;
+      }
+
+      /**
+       * Removes value, which must be held, and shifts back any later
+       * values of the same probe run so that lookups still find them.
+       */
+      private void remove(int value) {
+         int i = slot(value);
+         while (slots[i] != value) {
+            i = (i + 1) & mask;
+         }
+         int j = i;
+         while (true) {
+            j = (j + 1) & mask;
+            if (!used[j]) {
+               break;
+            }
+            int home = slot(slots[j]);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+               slots[i] = slots[j];
+               i = j;
+            }
+         }
+         used[i] = false;
+      }
+   }
+
+}
@@ -0,0 +1,323 @@
+import java.util.Arrays;
+
+/**
+* Defines a library of selection methods on arrays of longs. These
+* are the Selector methods specialized for long values so that no
+* value is ever boxed, plus overloads that take a LongComparator.
+*
+* @version  2018-01-16
+*
+*/
+public final class LongSelector {
+
+   /**
+    * Can't instantiate this class.
+    */
+   private LongSelector() { }
+
+
+   /**
+    * Selects the minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static long min(long[] a) throws IllegalArgumentException {
+      check(a);
+      long m = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (a[i] < m) {
+            m = a[i];
+         }
+      }
+      return m;
+   }
+
+
+   /**
+    * Selects the maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static long max(long[] a) throws IllegalArgumentException {
+      check(a);
+      long m = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (a[i] > m) {
+            m = a[i];
+         }
+      }
+      return m;
+   }
+
+
+   /**
+    * Selects the minimum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static long min(long[] a, LongComparator comp) throws IllegalArgumentException {
+      check(a);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      long min = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], min) < 0) {
+            min = a[i];
+         }
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static long max(long[] a, LongComparator comp) throws IllegalArgumentException {
+      check(a);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      long max = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], max) > 0) {
+            max = a[i];
+         }
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth minimum value. Note that there is no kth
+    * minimum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public static long kmin(long[] a, int k) throws IllegalArgumentException {
+      check(a, k);
+      return kmin(a, k, new long[a.length]);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmin(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static long kmin(long[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k, scratch);
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth maximum value. Note that there is no kth
+    * maximum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public static long kmax(long[] a, int k) throws IllegalArgumentException {
+      check(a, k);
+      return kmax(a, k, new long[a.length]);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmax(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static long kmax(long[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k, scratch);
+      for (int i = 0; i < a.length; i++) {
+         scratch[i] = ~a[i];
+      }
+      return ~QuickSelect.kminDistinct(scratch, a.length, k);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmin(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static long kmin(long[] a, int k, LongComparator comp, long[] scratch)
+      throws IllegalArgumentException {
+      check(a, k, scratch);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k, comp, false);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmax(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static long kmax(long[] a, int k, LongComparator comp, long[] scratch)
+      throws IllegalArgumentException {
+      check(a, k, scratch);
+      if (comp == null) {
+         throw new IllegalArgumentException();
+      }
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k, comp, true);
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the
+    * range [low..high], including duplicate values, in the order
+    * they appear in a. If there are no qualifying values, this
+    * method returns a zero-length array. This method throws an
+    * IllegalArgumentException if a is null or has zero length.
+    * The array a is not changed by this method.
+    */
+   public static long[] range(long[] a, long low, long high) throws IllegalArgumentException {
+      check(a);
+      if (low > high) {
+         return new long[0];
+      }
+      long[] values = new long[a.length];
+      int n = range(a, low, high, values);
+      return (n == values.length) ? values : Arrays.copyOf(values, n);
+   }
+
+
+   /**
+    * Copies all the values in a in the range [low..high], including
+    * duplicate values, into the front of out in a single pass and
+    * returns how many were copied. This method throws an
+    * IllegalArgumentException if a is null or has zero length, or if
+    * out is null or shorter than a. The array a is not changed by this
+    * method.
+    */
+   public static int range(long[] a, long low, long high, long[] out) throws IllegalArgumentException {
+      check(a);
+      if ((out == null) || (out.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+      if (low > high) {
+         return 0;
+      }
+      int n = 0;
+      for (int i = 0; i < a.length; i++) {
+         out[n] = a[i];
+         n += inRange(a[i], low, high) ? 1 : 0;
+      }
+      return n;
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to
+    * the given key. This method throws an IllegalArgumentException if
+    * a is null or has zero length, or if there is no qualifying
+    * value. The array a is not changed by this method.
+    */
+   public static long ceiling(long[] a, long key) throws IllegalArgumentException {
+      check(a);
+      boolean found = false;
+      long ceiling = 0;
+      for (int i = 0; i < a.length; i++) {
+         if ((a[i] >= key) && (!found || (a[i] < ceiling))) {
+            ceiling = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException();
+      }
+      return ceiling;
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to
+    * the given key. This method throws an IllegalArgumentException if
+    * a is null or has zero length, or if there is no qualifying
+    * value. The array a is not changed by this method.
+    */
+   public static long floor(long[] a, long key) throws IllegalArgumentException {
+      check(a);
+      boolean found = false;
+      long floor = 0;
+      for (int i = 0; i < a.length; i++) {
+         if ((a[i] <= key) && (!found || (a[i] > floor))) {
+            floor = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException();
+      }
+      return floor;
+   }
+
+
+   /**
+    * Returns true if low <= value <= high, using a single unsigned
+    * comparison. Requires low <= high.
+    */
+   static boolean inRange(long value, long low, long high) {
+      return (value - low) + Long.MIN_VALUE <= (high - low) + Long.MIN_VALUE;
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if a is null or has zero length.
+    */
+   private static void check(long[] a) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if a is null or has zero length,
+    * or if k < 1 or k > a.length.
+    */
+   private static void check(long[] a, int k) throws IllegalArgumentException {
+      check(a);
+      if ((k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if check(a, k) does, or if
+    * scratch is null or shorter than a.
+    */
+   private static void check(long[] a, int k, long[] scratch) throws IllegalArgumentException {
+      check(a, k);
+      if ((scratch == null) || (scratch.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+}
@@ -0,0 +1,252 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+* Parallel versions of the Selector methods for very large arrays of
+* ints. Arrays shorter than the threshold are handed to Selector
+* unchanged; longer arrays are split into chunks of at least threshold
+* values that are processed on a ForkJoinPool. Results, including the
+* exceptions thrown, are exactly those of the corresponding Selector
+* methods, and range keeps the values in their original order.
+*
+* @version  2018-01-16
+*
+*/
+public final class ParallelSelector {
+
+   /** default minimum number of values handled by one task. */
+   public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+   /** pool that runs the chunk tasks. */
+   private final ForkJoinPool pool;
+
+   /** minimum array length, and chunk length, for parallel execution. */
+   private final int threshold;
+
+
+   /**
+    * Creates a parallel selector that runs on the common pool with the
+    * default threshold.
+    */
+   public ParallelSelector() {
+      this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Creates a parallel selector that runs on the given pool and only
+    * splits arrays of at least threshold values. This constructor
+    * throws IllegalArgumentException if pool is null or threshold < 1.
+    */
+   public ParallelSelector(ForkJoinPool pool, int threshold) throws IllegalArgumentException {
+      if ((pool == null) || (threshold < 1)) {
+         throw new IllegalArgumentException();
+      }
+      this.pool = pool;
+      this.threshold = threshold;
+   }
+
+
+   /**
+    * Selects the minimum value from the array a. See Selector.min.
+    */
+   public int min(final int[] a) throws IllegalArgumentException {
+      if ((a == null) || (a.length < threshold)) {
+         return Selector.min(a);
+      }
+      final Chunks chunks = new Chunks(a.length);
+      final int[] partial = new int[chunks.count];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         partial[c] = Selector.min(a, chunks.from(c), chunks.to(c));
+      }));
+      return Selector.min(partial, 0, partial.length);
+   }
+
+
+   /**
+    * Selects the maximum value from the array a. See Selector.max.
+    */
+   public int max(final int[] a) throws IllegalArgumentException {
+      if ((a == null) || (a.length < threshold)) {
+         return Selector.max(a);
+      }
+      final Chunks chunks = new Chunks(a.length);
+      final int[] partial = new int[chunks.count];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         partial[c] = Selector.max(a, chunks.from(c), chunks.to(c));
+      }));
+      return Selector.max(partial, 0, partial.length);
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the range
+    * [low..high], in the order they appear in a. See Selector.range.
+    */
+   public int[] range(final int[] a, final int low, final int high) throws IllegalArgumentException {
+      if ((a == null) || (a.length < threshold) || (low > high)) {
+         return Selector.range(a, low, high);
+      }
+      final Chunks chunks = new Chunks(a.length);
+      final int[] offsets = new int[chunks.count + 1];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         offsets[c + 1] = Selector.count(a, chunks.from(c), chunks.to(c), low, high);
+      }));
+      for (int c = 0; c < chunks.count; c++) {
+         offsets[c + 1] += offsets[c];
+      }
+      final int[] values = new int[offsets[chunks.count]];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         int n = offsets[c];
+         int end = offsets[c + 1];
+         for (int i = chunks.from(c); n < end; i++) {
+            if (Selector.inRange(a[i], low, high)) {
+               values[n] = a[i];
+               n++;
+            }
+         }
+      }));
+      return values;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a. See Selector.kmin.
+    */
+   public int kmin(int[] a, int k) throws IllegalArgumentException {
+      if ((a == null) || (a.length < threshold)) {
+         return Selector.kmin(a, k);
+      }
+      if ((k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
+      }
+      return kminDistinct(a, k, false);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a. See Selector.kmax.
+    */
+   public int kmax(int[] a, int k) throws IllegalArgumentException {
+      if ((a == null) || (a.length < threshold)) {
+         return Selector.kmax(a, k);
+      }
+      if ((k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
+      }
+      return ~kminDistinct(a, k, true);
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value of a, or of ~a if
+    * complement is true. Each chunk first finds its own kth smallest
+    * distinct value. The smallest of these is an upper bound t on the
+    * answer, because that chunk alone has k distinct values <= t. All
+    * values <= t are then gathered in parallel, and the answer is
+    * selected sequentially from that much smaller candidate set.
+    */
+   private int kminDistinct(final int[] a, final int k, final boolean complement) {
+      final Chunks chunks = new Chunks(a.length);
+      final int[] work = new int[a.length];
+      final int[] scratch = new int[a.length];
+      final int[] bound = new int[chunks.count];
+      final boolean[] found = new boolean[chunks.count];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         int from = chunks.from(c);
+         int to = chunks.to(c);
+         for (int i = from; i < to; i++) {
+            work[i] = complement ? ~a[i] : a[i];
+         }
+         System.arraycopy(work, from, scratch, from, to - from);
+         if (QuickSelect.selectDistinct(scratch, from, to - 1, k) == k) {
+            bound[c] = scratch[from];
+            found[c] = true;
+         }
+      }));
+      boolean any = false;
+      int t = Integer.MAX_VALUE;
+      for (int c = 0; c < chunks.count; c++) {
+         if (found[c]) {
+            any = true;
+            t = Math.min(t, bound[c]);
+         }
+      }
+      if (!any) {
+         return QuickSelect.kminDistinct(work, work.length, k);
+      }
+      final int high = t;
+      final int[] offsets = new int[chunks.count + 1];
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         offsets[c + 1] = Selector.count(work, chunks.from(c), chunks.to(c), Integer.MIN_VALUE, high);
+      }));
+      for (int c = 0; c < chunks.count; c++) {
+         offsets[c + 1] += offsets[c];
+      }
+      pool.invoke(new ChunkAction(0, chunks.count, c -> {
+         int n = offsets[c];
+         int end = offsets[c + 1];
+         for (int i = chunks.from(c); n < end; i++) {
+            if (work[i] <= high) {
+               scratch[n] = work[i];
+               n++;
+            }
+         }
+      }));
+      return QuickSelect.kminDistinct(scratch, offsets[chunks.count], k);
+   }
+
+
+   /**
+    * Splits n values into contiguous chunks of at least threshold
+    * values, with no more chunks than four per pool thread.
+    */
+   private final class Chunks {
+      final int n;
+      final int count;
+
+      Chunks(int n) {
+         this.n = n;
+         this.count = Math.max(1, Math.min(n / threshold, pool.getParallelism() * 4));
+      }
+
+      int from(int c) {
+         return (int) ((long) n * c / count);
+      }
+
+      int to(int c) {
+         return (int) ((long) n * (c + 1) / count);
+      }
+   }
+
+
+   /**
+    * Runs body for every chunk index c in [lo..hi), splitting the index
+    * range in half until single chunks remain.
+    */
+   private static final class ChunkAction extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      private final int lo;
+      private final int hi;
+      private final IntConsumer body;
+
+      ChunkAction(int lo, int hi, IntConsumer body) {
+         this.lo = lo;
+         this.hi = hi;
+         this.body = body;
+      }
+
+      @Override
+      protected void compute() {
+         if (hi - lo == 1) {
+            body.accept(lo);
+            return;
+         }
+         int mid = (lo + hi) >>> 1;
+         invokeAll(new ChunkAction(lo, mid, body), new ChunkAction(mid, hi, body));
+      }
+   }
+
+}
@@ -0,0 +1,207 @@
+import java.util.Arrays;
+
+/**
+* Answers the same queries as Selector against a single array that is
+* prepared once and then queried many times. Preparation sorts a copy of
+* the array and builds a deduplicated index of its distinct values, after
+* which ceiling and floor take O(log n) time, kmin and kmax take constant
+* time, and range takes O(log n + m) time for m returned values. The only
+* allocation per query is the array returned by range.
+*
+* @version  2018-01-16
+*
+*/
+public final class PreparedIntSelector {
+
+   /** all values of the source array in ascending order. */
+   private final int[] sorted;
+
+   /** the distinct values of the source array in ascending order. */
+   private final int[] distinct;
+
+
+   /**
+    * Prepares a selector over the values in the array a. This
+    * constructor throws IllegalArgumentException if a is null or has
+    * zero length. The array a is not changed, and later changes to a
+    * are not seen by this selector.
+    */
+   public PreparedIntSelector(int[] a) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0)) {
+         throw new IllegalArgumentException();
+      }
+      sorted = a.clone();
+      Arrays.sort(sorted);
+      int count = 1;
+      for (int i = 1; i < sorted.length; i++) {
+         if (sorted[i] != sorted[i - 1]) {
+            count++;
+         }
+      }
+      distinct = new int[count];
+      distinct[0] = sorted[0];
+      int n = 1;
+      for (int i = 1; i < sorted.length; i++) {
+         if (sorted[i] != sorted[i - 1]) {
+            distinct[n] = sorted[i];
+            n++;
+         }
+      }
+   }
+
+
+   /**
+    * Returns the number of values, including duplicates, in this
+    * selector.
+    */
+   public int size() {
+      return sorted.length;
+   }
+
+
+   /**
+    * Returns the number of distinct values in this selector.
+    */
+   public int distinctCount() {
+      return distinct.length;
+   }
+
+
+   /**
+    * Selects the minimum value.
+    */
+   public int min() {
+      return distinct[0];
+   }
+
+
+   /**
+    * Selects the maximum value.
+    */
+   public int max() {
+      return distinct[distinct.length - 1];
+   }
+
+
+   /**
+    * Selects the kth minimum value. This method throws
+    * IllegalArgumentException if k < 1 or if k is larger than the
+    * number of distinct values.
+    */
+   public int kmin(int k) throws IllegalArgumentException {
+      if ((k < 1) || (k > distinct.length)) {
+         throw new IllegalArgumentException();
+      }
+      return distinct[k - 1];
+   }
+
+
+   /**
+    * Selects the kth maximum value. This method throws
+    * IllegalArgumentException if k < 1 or if k is larger than the
+    * number of distinct values.
+    */
+   public int kmax(int k) throws IllegalArgumentException {
+      if ((k < 1) || (k > distinct.length)) {
+         throw new IllegalArgumentException();
+      }
+      return distinct[distinct.length - k];
+   }
+
+
+   /**
+    * Returns an array containing all the values in the range
+    * [low..high], including duplicate values, in ascending order. If
+    * there are no qualifying values, this method returns a zero-length
+    * array. Note that low and high do not have to be actual values.
+    */
+   public int[] range(int low, int high) {
+      if (low > high) {
+         return new int[0];
+      }
+      int from = lowerBound(sorted, low);
+      int to = upperBound(sorted, high);
+      return Arrays.copyOfRange(sorted, from, to);
+   }
+
+
+   /**
+    * Returns the number of values, including duplicates, in the range
+    * [low..high] without building the range itself.
+    */
+   public int rangeCount(int low, int high) {
+      if (low > high) {
+         return 0;
+      }
+      return upperBound(sorted, high) - lowerBound(sorted, low);
+   }
+
+
+   /**
+    * Returns the smallest value that is greater than or equal to the
+    * given key. This method throws an IllegalArgumentException if
+    * there is no qualifying value.
+    */
+   public int ceiling(int key) throws IllegalArgumentException {
+      int i = lowerBound(distinct, key);
+      if (i == distinct.length) {
+         throw new IllegalArgumentException();
+      }
+      return distinct[i];
+   }
+
+
+   /**
+    * Returns the largest value that is less than or equal to the given
+    * key. This method throws an IllegalArgumentException if there is no
+    * qualifying value.
+    */
+   public int floor(int key) throws IllegalArgumentException {
+      int i = upperBound(distinct, key);
+      if (i == 0) {
+         throw new IllegalArgumentException();
+      }
+      return distinct[i - 1];
+   }
+
+
+   /**
+    * Returns the index of the first value in the sorted array a that is
+    * greater than or equal to key, or a.length if there is none.
+    */
+   private static int lowerBound(int[] a, int key) {
+      int lo = 0;
+      int hi = a.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (a[mid] < key) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+
+   /**
+    * Returns the index of the first value in the sorted array a that is
+    * greater than key, or a.length if there is none.
+    */
+   private static int upperBound(int[] a, int key) {
+      int lo = 0;
+      int hi = a.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (a[mid] <= key) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+}
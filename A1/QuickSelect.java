@@ -0,0 +1,827 @@
+/**
+* Selection engine used by Selector to find the kth smallest distinct
+* value of an int array without fully sorting it. The engine works in
+* place on a working buffer supplied by the caller, so no copy of the
+* input is made. For the natural order of ints and longs, duplicates
+* are dropped with a primitive hash set, and the kth smallest of the
+* distinct values that remain is found by introselect: a quickselect
+* that switches to median-of-medians pivots once partitioning stops
+* making progress. When k is small only the smallest values are
+* deduplicated. This takes expected O(n) time.
+*
+* When values are ordered by a comparator, duplicates are the values
+* the comparator says are equal, and no hash set can find them. Telling
+* whether n values are distinct takes O(n log n) comparisons in that
+* case, so the comparator engines count distinct values while they
+* partition instead, and run in O(n log n) time.
+*
+* @version  2018-01-16
+*
+*/
+final class QuickSelect {
+
+   /**
+    * Can't instantiate this class.
+    */
+   private QuickSelect() { }
+
+
+   /**
+    * Returns the kth smallest distinct value among the first n values
+    * of work, or throws IllegalArgumentException if there are fewer
+    * than k distinct values. The first n values of work are reordered
+    * by this method. Runs in expected O(n) time.
+    */
+   static int kminDistinct(int[] work, int n, int k) throws IllegalArgumentException {
+      if (selectDistinct(work, 0, n - 1, k) < k) {
+         throw new IllegalArgumentException();
+      }
+      return work[0];
+   }
+
+
+   /**
+    * Same as kminDistinct(int[], int, int), but for values ordered by
+    * comp, or by the reverse of comp if reverse is true. Runs in
+    * O(n log n) time.
+    */
+   static int kminDistinct(int[] work, int n, int k, IntComparator comp, boolean reverse)
+      throws IllegalArgumentException {
+      if (selectDistinct(work, 0, n - 1, k, depthLimit(n), comp, reverse) < k) {
+         throw new IllegalArgumentException();
+      }
+      return work[0];
+   }
+
+
+   /**
+    * Same as kminDistinct(int[], int, int), but for long values.
+    */
+   static long kminDistinct(long[] work, int n, int k) throws IllegalArgumentException {
+      if (selectDistinct(work, 0, n - 1, k) < k) {
+         throw new IllegalArgumentException();
+      }
+      return work[0];
+   }
+
+
+   /**
+    * Same as kminDistinct(long[], int, int), but for values ordered by
+    * comp, or by the reverse of comp if reverse is true. Runs in
+    * O(n log n) time.
+    */
+   static long kminDistinct(long[] work, int n, int k, LongComparator comp, boolean reverse)
+      throws IllegalArgumentException {
+      if (selectDistinct(work, 0, n - 1, k, depthLimit(n), comp, reverse) < k) {
+         throw new IllegalArgumentException();
+      }
+      return work[0];
+   }
+
+
+   /**
+    * Returns the number of partitioning rounds allowed before select
+    * switches to median-of-medians pivots.
+    */
+   static int depthLimit(int n) {
+      return 2 * (32 - Integer.numberOfLeadingZeros(n));
+   }
+
+
+   /**
+    * Looks for the kth smallest distinct value in a[lo..hi]. If it is
+    * found, it is stored in a[lo] and k is returned. Otherwise the
+    * number of distinct values in a[lo..hi] is returned, which is then
+    * less than k. Values in a[lo..hi] are reordered.
+    *
+    * When k is at most an eighth of the range, the 2k smallest values
+    * are selected first and only they are deduplicated, which is enough
+    * unless more than half of them are duplicates. Otherwise the whole
+    * range is deduplicated. Either way every step is linear, and small
+    * k costs little more than one partitioning pass.
+    */
+   static int selectDistinct(int[] a, int lo, int hi, int k) {
+      if (k <= (hi - lo + 1) / 8) {
+         int last = lo + 2 * k - 1;
+         select(a, lo, hi, last);
+         int d = distinct(a, lo, last);
+         if (d >= k) {
+            a[lo] = select(a, lo, lo + d - 1, lo + k - 1);
+            return k;
+         }
+         // Deduplicating the prefix only moved values within it, so
+         // the distinct values of the whole range are unchanged.
+      }
+      int d = distinct(a, lo, hi);
+      if (d < k) {
+         return d;
+      }
+      a[lo] = select(a, lo, lo + d - 1, lo + k - 1);
+      return k;
+   }
+
+
+   /**
+    * Moves the distinct values of a[lo..hi] to the front of that range,
+    * in the order they first appear, and returns how many there are.
+    */
+   private static int distinct(int[] a, int lo, int hi) {
+      IntSet seen = new IntSet(hi - lo + 1);
+      int n = lo;
+      for (int i = lo; i <= hi; i++) {
+         if (seen.add(a[i])) {
+            a[n] = a[i];
+            n++;
+         }
+      }
+      return n - lo;
+   }
+
+
+   /**
+    * Returns the value that would be at a[index] if a[lo..hi] were
+    * sorted, and stores it there. Values in a[lo..hi] are reordered.
+    * Runs in O(n) time.
+    */
+   private static int select(int[] a, int lo, int hi, int index) {
+      return select(a, lo, hi, index, depthLimit(hi - lo + 1));
+   }
+
+
+   /**
+    * Same as select(int[], int, int, int), but picks pivots by
+    * median-of-three for the first depth rounds and by median-of-medians
+    * after that.
+    */
+   private static int select(int[] a, int lo, int hi, int index, int depth) {
+      while (lo < hi) {
+         int pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThree(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi]);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            int value = a[i];
+            if (value < pivot) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (value > pivot) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         if (index < lt) {
+            hi = lt - 1;
+         }
+         else if (index > gt) {
+            lo = gt + 1;
+         }
+         else {
+            return pivot;
+         }
+      }
+      return a[index];
+   }
+
+
+   /**
+    * Returns the median of the medians of the groups of five values in
+    * a[lo..hi]. At least 3/10 of the values in the range are no larger
+    * than it and at least 3/10 are no smaller. The medians are moved to
+    * the front of the range along the way.
+    */
+   private static int medianOfMedians(int[] a, int lo, int hi) {
+      int m = lo;
+      for (int i = lo; i <= hi; i += 5) {
+         int end = Math.min(i + 4, hi);
+         insertionSort(a, i, end);
+         int median = i + ((end - i) >>> 1);
+         int value = a[median];
+         a[median] = a[m];
+         a[m] = value;
+         m++;
+      }
+      return select(a, lo, m - 1, lo + ((m - 1 - lo) >>> 1), 0);
+   }
+
+
+   /**
+    * Sorts the few values in a[lo..hi] by insertion.
+    */
+   private static void insertionSort(int[] a, int lo, int hi) {
+      for (int i = lo + 1; i <= hi; i++) {
+         int value = a[i];
+         int j = i - 1;
+         while ((j >= lo) && (a[j] > value)) {
+            a[j + 1] = a[j];
+            j--;
+         }
+         a[j + 1] = value;
+      }
+   }
+
+
+   /**
+    * Returns the median of the three given values.
+    */
+   private static int medianOfThree(int x, int y, int z) {
+      if (x < y) {
+         if (y < z) {
+            return y;
+         }
+         return (x < z) ? z : x;
+      }
+      if (x < z) {
+         return x;
+      }
+      return (y < z) ? z : y;
+   }
+
+
+   /**
+    * Looks for the kth smallest distinct value in a[lo..hi], as ordered
+    * by comp, or by the reverse of comp if reverse is true. If it is
+    * found, it is stored in a[lo] and k is returned. Otherwise the
+    * number of distinct values in a[lo..hi] is returned, which is then
+    * less than k. Values in a[lo..hi] are reordered. Pivots are picked
+    * by median-of-three for the first depth rounds and by
+    * median-of-medians after that, so every part that is descended into
+    * is a constant fraction smaller than the range it came from.
+    */
+   static int selectDistinct(int[] a, int lo, int hi, int k, int depth,
+                             IntComparator comp, boolean reverse) {
+      int first = lo;
+      int remaining = k;
+      while (lo <= hi) {
+         int pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThreeInt(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp, reverse);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp, reverse);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            int value = a[i];
+            int c = compareInt(comp, reverse, value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         int below = (lt > lo) ? selectDistinct(a, lo, lt - 1, remaining, depth, comp, reverse) : 0;
+         if (below == remaining) {
+            a[first] = a[lo];
+            return k;
+         }
+         remaining -= below + 1;
+         if (remaining == 0) {
+            a[first] = a[lt];
+            return k;
+         }
+         lo = gt + 1;
+      }
+      return k - remaining;
+   }
+
+
+   /**
+    * Same as select(int[], int, int, int, int), but orders values by
+    * comp, or by the reverse of comp if reverse is true.
+    */
+   private static int select(int[] a, int lo, int hi, int index, int depth,
+                             IntComparator comp, boolean reverse) {
+      while (lo < hi) {
+         int pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThreeInt(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp, reverse);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp, reverse);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            int value = a[i];
+            int c = compareInt(comp, reverse, value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         if (index < lt) {
+            hi = lt - 1;
+         }
+         else if (index > gt) {
+            lo = gt + 1;
+         }
+         else {
+            return a[index];
+         }
+      }
+      return a[index];
+   }
+
+
+   /**
+    * Same as medianOfMedians(int[], int, int), but orders values by
+    * comp, or by the reverse of comp if reverse is true.
+    */
+   private static int medianOfMedians(int[] a, int lo, int hi, IntComparator comp, boolean reverse) {
+      int m = lo;
+      for (int i = lo; i <= hi; i += 5) {
+         int end = Math.min(i + 4, hi);
+         insertionSort(a, i, end, comp, reverse);
+         int median = i + ((end - i) >>> 1);
+         int value = a[median];
+         a[median] = a[m];
+         a[m] = value;
+         m++;
+      }
+      return select(a, lo, m - 1, lo + ((m - 1 - lo) >>> 1), 0, comp, reverse);
+   }
+
+
+   /**
+    * Sorts the few values in a[lo..hi] as ordered by comp by insertion.
+    */
+   private static void insertionSort(int[] a, int lo, int hi, IntComparator comp, boolean reverse) {
+      for (int i = lo + 1; i <= hi; i++) {
+         int value = a[i];
+         int j = i - 1;
+         while ((j >= lo) && (compareInt(comp, reverse, a[j], value) > 0)) {
+            a[j + 1] = a[j];
+            j--;
+         }
+         a[j + 1] = value;
+      }
+   }
+
+
+   /**
+    * Compares x and y by comp, or by the reverse of comp if reverse
+    * is true.
+    */
+   private static int compareInt(IntComparator comp, boolean reverse, int x, int y) {
+      return reverse ? comp.compare(y, x) : comp.compare(x, y);
+   }
+
+
+   /**
+    * Returns the median of the three given values as ordered by comp.
+    */
+   private static int medianOfThreeInt(int x, int y, int z, IntComparator comp, boolean reverse) {
+      if (compareInt(comp, reverse, x, y) < 0) {
+         if (compareInt(comp, reverse, y, z) < 0) {
+            return y;
+         }
+         return (compareInt(comp, reverse, x, z) < 0) ? z : x;
+      }
+      if (compareInt(comp, reverse, x, z) < 0) {
+         return x;
+      }
+      return (compareInt(comp, reverse, y, z) < 0) ? z : y;
+   }
+
+
+   /**
+    * Same as selectDistinct(int[], int, int, int), but for long values.
+    */
+   static int selectDistinct(long[] a, int lo, int hi, int k) {
+      if (k <= (hi - lo + 1) / 8) {
+         int last = lo + 2 * k - 1;
+         select(a, lo, hi, last);
+         int d = distinct(a, lo, last);
+         if (d >= k) {
+            a[lo] = select(a, lo, lo + d - 1, lo + k - 1);
+            return k;
+         }
+      }
+      int d = distinct(a, lo, hi);
+      if (d < k) {
+         return d;
+      }
+      a[lo] = select(a, lo, lo + d - 1, lo + k - 1);
+      return k;
+   }
+
+
+   /**
+    * Same as distinct(int[], int, int), but for long values.
+    */
+   private static int distinct(long[] a, int lo, int hi) {
+      LongSet seen = new LongSet(hi - lo + 1);
+      int n = lo;
+      for (int i = lo; i <= hi; i++) {
+         if (seen.add(a[i])) {
+            a[n] = a[i];
+            n++;
+         }
+      }
+      return n - lo;
+   }
+
+
+   /**
+    * Same as select(int[], int, int, int), but for long values.
+    */
+   private static long select(long[] a, int lo, int hi, int index) {
+      return select(a, lo, hi, index, depthLimit(hi - lo + 1));
+   }
+
+
+   /**
+    * Same as select(int[], int, int, int, int), but for long values.
+    */
+   private static long select(long[] a, int lo, int hi, int index, int depth) {
+      while (lo < hi) {
+         long pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThree(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi]);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            long value = a[i];
+            if (value < pivot) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (value > pivot) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         if (index < lt) {
+            hi = lt - 1;
+         }
+         else if (index > gt) {
+            lo = gt + 1;
+         }
+         else {
+            return pivot;
+         }
+      }
+      return a[index];
+   }
+
+
+   /**
+    * Same as medianOfMedians(int[], int, int), but for long values.
+    */
+   private static long medianOfMedians(long[] a, int lo, int hi) {
+      int m = lo;
+      for (int i = lo; i <= hi; i += 5) {
+         int end = Math.min(i + 4, hi);
+         insertionSort(a, i, end);
+         int median = i + ((end - i) >>> 1);
+         long value = a[median];
+         a[median] = a[m];
+         a[m] = value;
+         m++;
+      }
+      return select(a, lo, m - 1, lo + ((m - 1 - lo) >>> 1), 0);
+   }
+
+
+   /**
+    * Sorts the few long values in a[lo..hi] by insertion.
+    */
+   private static void insertionSort(long[] a, int lo, int hi) {
+      for (int i = lo + 1; i <= hi; i++) {
+         long value = a[i];
+         int j = i - 1;
+         while ((j >= lo) && (a[j] > value)) {
+            a[j + 1] = a[j];
+            j--;
+         }
+         a[j + 1] = value;
+      }
+   }
+
+
+   /**
+    * Returns the median of the three given long values.
+    */
+   private static long medianOfThree(long x, long y, long z) {
+      if (x < y) {
+         if (y < z) {
+            return y;
+         }
+         return (x < z) ? z : x;
+      }
+      if (x < z) {
+         return x;
+      }
+      return (y < z) ? z : y;
+   }
+
+
+   /**
+    * Same as selectDistinct(int[], int, int, int, int, IntComparator,
+    * boolean), but for long values.
+    */
+   static int selectDistinct(long[] a, int lo, int hi, int k, int depth,
+                             LongComparator comp, boolean reverse) {
+      int first = lo;
+      int remaining = k;
+      while (lo <= hi) {
+         long pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThreeLong(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp, reverse);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp, reverse);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            long value = a[i];
+            int c = compareLong(comp, reverse, value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         int below = (lt > lo) ? selectDistinct(a, lo, lt - 1, remaining, depth, comp, reverse) : 0;
+         if (below == remaining) {
+            a[first] = a[lo];
+            return k;
+         }
+         remaining -= below + 1;
+         if (remaining == 0) {
+            a[first] = a[lt];
+            return k;
+         }
+         lo = gt + 1;
+      }
+      return k - remaining;
+   }
+
+
+   /**
+    * Same as select(long[], int, int, int, int), but orders values by
+    * comp, or by the reverse of comp if reverse is true.
+    */
+   private static long select(long[] a, int lo, int hi, int index, int depth,
+                              LongComparator comp, boolean reverse) {
+      while (lo < hi) {
+         long pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThreeLong(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp, reverse);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp, reverse);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            long value = a[i];
+            int c = compareLong(comp, reverse, value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         if (index < lt) {
+            hi = lt - 1;
+         }
+         else if (index > gt) {
+            lo = gt + 1;
+         }
+         else {
+            return a[index];
+         }
+      }
+      return a[index];
+   }
+
+
+   /**
+    * Same as medianOfMedians(long[], int, int), but orders values by
+    * comp, or by the reverse of comp if reverse is true.
+    */
+   private static long medianOfMedians(long[] a, int lo, int hi, LongComparator comp, boolean reverse) {
+      int m = lo;
+      for (int i = lo; i <= hi; i += 5) {
+         int end = Math.min(i + 4, hi);
+         insertionSort(a, i, end, comp, reverse);
+         int median = i + ((end - i) >>> 1);
+         long value = a[median];
+         a[median] = a[m];
+         a[m] = value;
+         m++;
+      }
+      return select(a, lo, m - 1, lo + ((m - 1 - lo) >>> 1), 0, comp, reverse);
+   }
+
+
+   /**
+    * Sorts the few long values in a[lo..hi] as ordered by comp by
+    * insertion.
+    */
+   private static void insertionSort(long[] a, int lo, int hi, LongComparator comp, boolean reverse) {
+      for (int i = lo + 1; i <= hi; i++) {
+         long value = a[i];
+         int j = i - 1;
+         while ((j >= lo) && (compareLong(comp, reverse, a[j], value) > 0)) {
+            a[j + 1] = a[j];
+            j--;
+         }
+         a[j + 1] = value;
+      }
+   }
+
+
+   /**
+    * Compares x and y by comp, or by the reverse of comp if reverse
+    * is true.
+    */
+   private static int compareLong(LongComparator comp, boolean reverse, long x, long y) {
+      return reverse ? comp.compare(y, x) : comp.compare(x, y);
+   }
+
+
+   /**
+    * Returns the median of the three given values as ordered by comp.
+    */
+   private static long medianOfThreeLong(long x, long y, long z, LongComparator comp, boolean reverse) {
+      if (compareLong(comp, reverse, x, y) < 0) {
+         if (compareLong(comp, reverse, y, z) < 0) {
+            return y;
+         }
+         return (compareLong(comp, reverse, x, z) < 0) ? z : x;
+      }
+      if (compareLong(comp, reverse, x, z) < 0) {
+         return x;
+      }
+      return (compareLong(comp, reverse, y, z) < 0) ? z : y;
+   }
+
+
+   /**
+    * Returns the power of two table size that keeps an open-addressing
+    * table for n keys at most half full.
+    */
+   private static int tableSize(int n) {
+      return (int) Math.min(1L << 30, Long.highestOneBit(Math.max(8, n) - 1) << 2);
+   }
+
+   /**
+    * An open-addressing set of ints that never boxes. Zero marks an
+    * empty slot, so whether zero itself is in the set is kept apart.
+    */
+   private static final class IntSet {
+      private final int[] slots;
+      private boolean zero;
+
+      /**
+       * Creates a set that can hold n keys without growing.
+       */
+      IntSet(int n) {
+         slots = new int[tableSize(n)];
+      }
+
+      /**
+       * Adds key and returns true if it was not already in the set.
+       */
+      boolean add(int key) {
+         if (key == 0) {
+            boolean added = !zero;
+            zero = true;
+            return added;
+         }
+         int mask = slots.length - 1;
+         int i = slot(key, mask);
+         while (slots[i] != 0) {
+            if (slots[i] == key) {
+               return false;
+            }
+            i = (i + 1) & mask;
+         }
+         slots[i] = key;
+         return true;
+      }
+
+      private static int slot(int key, int mask) {
+         int h = key * 0x9E3779B9;
+         return (h ^ (h >>> 16)) & mask;
+      }
+   }
+
+   /**
+    * An open-addressing set of longs that never boxes. Zero marks an
+    * empty slot, so whether zero itself is in the set is kept apart.
+    */
+   private static final class LongSet {
+      private final long[] slots;
+      private boolean zero;
+
+      /**
+       * Creates a set that can hold n keys without growing.
+       */
+      LongSet(int n) {
+         slots = new long[tableSize(n)];
+      }
+
+      /**
+       * Adds key and returns true if it was not already in the set.
+       */
+      boolean add(long key) {
+         if (key == 0L) {
+            boolean added = !zero;
+            zero = true;
+            return added;
+         }
+         int mask = slots.length - 1;
+         int i = slot(key, mask);
+         while (slots[i] != 0L) {
+            if (slots[i] == key) {
+               return false;
+            }
+            i = (i + 1) & mask;
+         }
+         slots[i] = key;
+         return true;
+      }
+
+      private static int slot(long key, int mask) {
+         long h = key * 0x9E3779B97F4A7C15L;
+         return (int) (h ^ (h >>> 32)) & mask;
+      }
+   }
+
+}
@@ -30,20 +30,7 @@ public final class Selector {
       if (a.length == 0) {
          throw new IllegalArgumentException();
       }
-      int minValue = a[0];
-      try {
-         for (int i = 0; i < a.length; i++) {
-            if (a[i] < minValue) {
-               minValue = a[i];
-            }
-         }
-      }
-      catch (IllegalArgumentException e) {
-         System.out.println("Error: IllegalArgumentException");
-      }
-      finally {
-         return minValue;
-      }
+      return min(a, 0, a.length);
    }
 
 
@@ -59,20 +46,7 @@ public final class Selector {
       if (a.length == 0) {
          throw new IllegalArgumentException();
       }
-      int maxValue = a[0];
-      try {
-         for (int i = 0; i < a.length; i++) {
-            if (a[i] > maxValue) {
-               maxValue = a[i];
-            }
-         }
-      }
-      catch (IllegalArgumentException e) {
-         System.out.println("Error: IllegalArgumentException.");
-      }
-      finally {
-         return maxValue;
-      }
+      return max(a, 0, a.length);
    }
 
 
@@ -88,23 +62,27 @@ public final class Selector {
       if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length)) {
          throw new IllegalArgumentException();
       }
-      int[] a2 = a.clone();
-      Arrays.sort(a2);
-      int n = 0;
-      int least = -999;
-      for (int i = 0; i < a2.length; i++) {
-         if (a2[i] > least) {
-            least = a2[i];
-            n++;
-            if (n == k) {
-               break;
-            }
-         }
+      return kmin(a, k, new int[a.length]);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmin(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static int kmin(int[] a, int k, int[] scratch) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
       }
-      if (n < k) {
+      if ((scratch == null) || (scratch.length < a.length)) {
          throw new IllegalArgumentException();
       }
-      return least;
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k);
    }
 
 
@@ -120,23 +98,122 @@ public final class Selector {
       if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length)) {
          throw new IllegalArgumentException();
       }
-      int[] a2 = a.clone();
-      Arrays.sort(a2);
-      int n = 0;
-      int greatest = 999;
-      for (int i = a2.length - 1; i >= 0; i--) {
-         if (a2[i] < greatest) {
-            greatest = a2[i];
-            n++;
-            if (n == k) {
-               break;
-            }
+      return kmax(a, k, new int[a.length]);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a, using scratch as
+    * working storage instead of a new copy of a. This
+    * method throws IllegalArgumentException under the same conditions
+    * as kmax(a, k), and also if scratch is null or shorter than a. The
+    * array a is not changed by this method, but the contents of
+    * scratch are overwritten.
+    */
+   public static int kmax(int[] a, int k, int[] scratch) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length)) {
+         throw new IllegalArgumentException();
+      }
+      if ((scratch == null) || (scratch.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+      // ~x reverses the order of ints without overflow, so the kth
+      // maximum of a is the complement of the kth minimum of ~a.
+      for (int i = 0; i < a.length; i++) {
+         scratch[i] = ~a[i];
+      }
+      return ~QuickSelect.kminDistinct(scratch, a.length, k);
+   }
+
+
+   /**
+    * Selects the minimum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static int min(int[] a, IntComparator comp) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (comp == null)) {
+         throw new IllegalArgumentException();
+      }
+      int minValue = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], minValue) < 0) {
+            minValue = a[i];
          }
       }
-      if (n < k) {
+      return minValue;
+   }
+
+
+   /**
+    * Selects the maximum value from the array a as defined by comp.
+    * This method throws IllegalArgumentException if a is null or has
+    * zero length, or if comp is null. The array a is not changed by
+    * this method.
+    */
+   public static int max(int[] a, IntComparator comp) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (comp == null)) {
+         throw new IllegalArgumentException();
+      }
+      int maxValue = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (comp.compare(a[i], maxValue) > 0) {
+            maxValue = a[i];
+         }
+      }
+      return maxValue;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmin(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static int kmin(int[] a, int k, IntComparator comp, int[] scratch)
+      throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length) || (comp == null)) {
+         throw new IllegalArgumentException();
+      }
+      if ((scratch == null) || (scratch.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k, comp, false);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a as defined by comp,
+    * using scratch as working storage. Values that comp considers equal
+    * are counted once. This method throws IllegalArgumentException
+    * under the same conditions as kmax(a, k, scratch), and also if comp
+    * is null. The array a is not changed by this method.
+    */
+   public static int kmax(int[] a, int k, IntComparator comp, int[] scratch)
+      throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0) || (k < 1) || (k > a.length) || (comp == null)) {
+         throw new IllegalArgumentException();
+      }
+      if ((scratch == null) || (scratch.length < a.length)) {
          throw new IllegalArgumentException();
       }
-      return greatest;
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      return QuickSelect.kminDistinct(scratch, a.length, k, comp, true);
+   }
+
+
+   /**
+    * Returns a PreparedIntSelector over the values in a, for callers
+    * that issue many queries against the same array. This method
+    * throws IllegalArgumentException if a is null or has zero length.
+    * The array a is not changed by this method.
+    */
+   public static PreparedIntSelector prepare(int[] a) throws IllegalArgumentException {
+      return new PreparedIntSelector(a);
    }
 
 
@@ -159,29 +236,98 @@ public final class Selector {
       if (a.length == 0) {
          throw new IllegalArgumentException();
       }
-      try {
-         int num3 = 0;
+      if (low > high) {
+         return new int[0];
       }
-      catch (IllegalArgumentException e) {
-         System.out.println("Error: IllegalArgumentException");
+      // One branch-free pass into a full-length buffer, then trim it.
+      // This measured faster than counting first and then filling an
+      // exact-size array, even when few values match.
+      int[] values = new int[a.length];
+      int n = range(a, low, high, values);
+      return (n == values.length) ? values : Arrays.copyOf(values, n);
+   }
+
+
+   /**
+    * Copies all the values in a in the range [low..high], including
+    * duplicate values, into the front of out in a single pass and
+    * returns how many were copied. This allows callers to reuse one
+    * buffer across calls. This method throws an
+    * IllegalArgumentException if a is null or has zero length, or if
+    * out is null or shorter than a. The array a is not changed by this
+    * method.
+    */
+   public static int range(int[] a, int low, int high, int[] out) throws IllegalArgumentException {
+      if ((a == null) || (a.length == 0)) {
+         throw new IllegalArgumentException();
       }
-      finally {
-         int num1 = 0;
-         for (int i = 0; i < a.length; i++) {
-            if ((a[i] >= low) && (a[i] <= high)) {
-               num1++;
-            }
+      if ((out == null) || (out.length < a.length)) {
+         throw new IllegalArgumentException();
+      }
+      if (low > high) {
+         return 0;
+      }
+      int n = 0;
+      for (int i = 0; i < a.length; i++) {
+         // Always store and only advance on a match, so the loop
+         // has no data-dependent branch.
+         out[n] = a[i];
+         n += inRange(a[i], low, high) ? 1 : 0;
+      }
+      return n;
+   }
+
+
+   /**
+    * Returns the minimum value in a[from..to-1], which must not be
+    * empty. This is the plain scan the JIT already compiles well;
+    * splitting it across several accumulators measured slower.
+    */
+   static int min(int[] a, int from, int to) {
+      int m = a[from];
+      for (int i = from + 1; i < to; i++) {
+         if (a[i] < m) {
+            m = a[i];
          }
-         int[] values = new int[num1];
-         int num2 = 0;
-         for (int i = 0; i < a.length; i++) {
-            if ((a[i] >= low) && (a[i] <= high)) {
-               values[num2] = a[i];
-               num2++;
-            }
+      }
+      return m;
+   }
+
+
+   /**
+    * Returns the maximum value in a[from..to-1], which must not be
+    * empty. See min(int[], int, int).
+    */
+   static int max(int[] a, int from, int to) {
+      int m = a[from];
+      for (int i = from + 1; i < to; i++) {
+         if (a[i] > m) {
+            m = a[i];
          }
-         return values;
       }
+      return m;
+   }
+
+
+   /**
+    * Returns the number of values in a[from..to-1] that are in the
+    * range [low..high].
+    */
+   static int count(int[] a, int from, int to, int low, int high) {
+      int n = 0;
+      for (int i = from; i < to; i++) {
+         n += inRange(a[i], low, high) ? 1 : 0;
+      }
+      return n;
+   }
+
+
+   /**
+    * Returns true if low <= value <= high, using a single unsigned
+    * comparison. Requires low <= high.
+    */
+   static boolean inRange(int value, int low, int high) {
+      return (value - low) + Integer.MIN_VALUE <= (high - low) + Integer.MIN_VALUE;
    }
 
 
@@ -0,0 +1,394 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel versions of the Selector methods. The Collection's Spliterator
+ * is split recursively and the pieces are processed on a ForkJoinPool,
+ * then partial results are combined with the caller's Comparator in
+ * encounter order. Collections smaller than the threshold, or whose
+ * Spliterator cannot be split, are handled sequentially. Results and
+ * exceptions are exactly those of the corresponding Selector methods.
+ *
+ * @version 2018-01-25
+ *
+ */
+public final class ParallelSelector {
+
+   /** default minimum Collection size, and piece size, for parallel work. */
+   public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+   /** pool that runs the split tasks. */
+   private final ForkJoinPool pool;
+
+   /** minimum size for parallel execution. */
+   private final int threshold;
+
+
+   /**
+    * Creates a parallel selector that runs on the common pool with the
+    * default threshold.
+    */
+   public ParallelSelector() {
+      this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Creates a parallel selector that runs on the given pool and only
+    * splits Collections of at least threshold values. If pool is null or
+    * threshold < 1, this constructor throws an IllegalArgumentException.
+    *
+    * @param pool       the pool that runs the split tasks
+    * @param threshold  the minimum size for parallel execution
+    * @throws           IllegalArgumentException as per above
+    */
+   public ParallelSelector(ForkJoinPool pool, int threshold) throws IllegalArgumentException {
+      if (pool == null || threshold < 1) {
+         throw new IllegalArgumentException();
+      }
+      this.pool = pool;
+      this.threshold = threshold;
+   }
+
+
+   /**
+    * Returns the minimum value in the Collection coll as defined by the
+    * Comparator comp. See Selector.min.
+    *
+    * @param coll    the Collection from which the minimum is selected
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the minimum value in coll
+    */
+   public <T> T min(Collection<T> coll, final Comparator<T> comp) throws IllegalArgumentException,
+      NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.min(coll, comp);
+      }
+      return run(coll, new Best<T>(comp, false) {
+         boolean accepts(T val) {
+            return true;
+         }
+      }).get();
+   }
+
+
+   /**
+    * Returns the maximum value in the Collection coll as defined by the
+    * Comparator comp. See Selector.max.
+    *
+    * @param coll    the Collection from which the maximum is selected
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the maximum value in coll
+    */
+   public <T> T max(Collection<T> coll, final Comparator<T> comp) throws IllegalArgumentException,
+      NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.max(coll, comp);
+      }
+      return run(coll, new Best<T>(comp, true) {
+         boolean accepts(T val) {
+            return true;
+         }
+      }).get();
+   }
+
+
+   /**
+    * Selects the kth minimum value from the Collection coll as defined by
+    * the Comparator comp. Each piece keeps its k smallest distinct values,
+    * and pieces are merged keeping the k smallest of the union. See
+    * Selector.kmin.
+    *
+    * @param coll    the Collection from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth minimum value in coll
+    */
+   public <T> T kmin(Collection<T> coll, int k, Comparator<T> comp) throws IllegalArgumentException,
+      NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.kmin(coll, k, comp);
+      }
+      return kth(coll, k, comp);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the Collection coll as defined by
+    * the Comparator comp. See Selector.kmax.
+    *
+    * @param coll    the Collection from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth maximum value in coll
+    */
+   public <T> T kmax(Collection<T> coll, int k, Comparator<T> comp) throws IllegalArgumentException,
+      NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.kmax(coll, k, comp);
+      }
+      return kth(coll, k, Collections.reverseOrder(comp));
+   }
+
+
+   /**
+    * Returns a new Collection containing all the values in the Collection
+    * coll that are greater than or equal to low and less than or equal to
+    * high, as defined by the Comparator comp, in encounter order. See
+    * Selector.range.
+    *
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a Collection of values between low and high
+    */
+   public <T> Collection<T> range(Collection<T> coll, final T low, final T high,
+                                  final Comparator<T> comp) throws IllegalArgumentException,
+      NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.range(coll, low, high, comp);
+      }
+      List<T> values = run(coll, new Reduction<T, List<T>>() {
+         List<T> leaf(Spliterator<T> piece) {
+            final List<T> found = new ArrayList<T>();
+            piece.forEachRemaining(val -> {
+               if ((comp.compare(val, low) >= 0) && (comp.compare(val, high) <= 0)) {
+                  found.add(val);
+               }
+            });
+            return found;
+         }
+
+         List<T> combine(List<T> left, List<T> right) {
+            left.addAll(right);
+            return left;
+         }
+      });
+      if (values.isEmpty()) {
+         throw new NoSuchElementException();
+      }
+      return values;
+   }
+
+
+   /**
+    * Returns the smallest value in the Collection coll that is greater than
+    * or equal to key, as defined by the Comparator comp. See
+    * Selector.ceiling.
+    *
+    * @param coll    the Collection from which the ceiling value is selected
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the ceiling value of key in coll
+    */
+   public <T> T ceiling(Collection<T> coll, final T key, final Comparator<T> comp)
+      throws IllegalArgumentException, NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.ceiling(coll, key, comp);
+      }
+      return run(coll, new Best<T>(comp, false) {
+         boolean accepts(T val) {
+            return comp.compare(val, key) >= 0;
+         }
+      }).get();
+   }
+
+
+   /**
+    * Returns the largest value in the Collection coll that is less than or
+    * equal to key, as defined by the Comparator comp. See Selector.floor.
+    *
+    * @param coll    the Collection from which the floor value is selected
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the floor value of key in coll
+    */
+   public <T> T floor(Collection<T> coll, final T key, final Comparator<T> comp)
+      throws IllegalArgumentException, NoSuchElementException {
+      if (sequential(coll, comp)) {
+         return Selector.floor(coll, key, comp);
+      }
+      return run(coll, new Best<T>(comp, true) {
+         boolean accepts(T val) {
+            return comp.compare(val, key) <= 0;
+         }
+      }).get();
+   }
+
+
+   /**
+    * Returns true if the call should be handed to Selector, either because
+    * an argument is invalid or because coll is too small to split.
+    */
+   private boolean sequential(Collection<?> coll, Comparator<?> comp) {
+      return coll == null || comp == null || coll.size() < threshold;
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value of coll under comp.
+    */
+   private <T> T kth(Collection<T> coll, final int k, final Comparator<? super T> comp) {
+      if (k < 1 || k > coll.size()) {
+         throw new NoSuchElementException();
+      }
+      List<T> smallest = run(coll, new Reduction<T, List<T>>() {
+         List<T> leaf(Spliterator<T> piece) {
+            return Selector.smallestDistinct(Spliterators.iterator(piece), k, comp);
+         }
+
+         List<T> combine(List<T> left, List<T> right) {
+            List<T> merged = new ArrayList<T>(k);
+            int i = 0;
+            int j = 0;
+            while (merged.size() < k && (i < left.size() || j < right.size())) {
+               int c;
+               if (i == left.size()) {
+                  c = 1;
+               }
+               else if (j == right.size()) {
+                  c = -1;
+               }
+               else {
+                  c = comp.compare(left.get(i), right.get(j));
+               }
+               if (c <= 0) {
+                  merged.add(left.get(i));
+                  i++;
+                  if (c == 0) {
+                     j++;
+                  }
+               }
+               else {
+                  merged.add(right.get(j));
+                  j++;
+               }
+            }
+            return merged;
+         }
+      });
+      if (smallest.size() < k) {
+         throw new NoSuchElementException();
+      }
+      return smallest.get(k - 1);
+   }
+
+
+   /**
+    * Applies reduction to coll on the pool.
+    */
+   private <T, R> R run(Collection<T> coll, Reduction<T, R> reduction) {
+      return pool.invoke(new SplitTask<T, R>(coll.spliterator(), reduction));
+   }
+
+
+   /**
+    * Computes a result for one piece of a Spliterator, and combines the
+    * results of two adjacent pieces, left coming first in encounter order.
+    */
+   private abstract static class Reduction<T, R> {
+      abstract R leaf(Spliterator<T> piece);
+
+      abstract R combine(R left, R right);
+   }
+
+
+   /**
+    * Keeps the first smallest (or, if largest is true, the first largest)
+    * accepted value of each piece, as Selector.min and Selector.max do.
+    */
+   private abstract static class Best<T> extends Reduction<T, Best.Result<T>> {
+      private final Comparator<T> comp;
+      private final boolean largest;
+
+      Best(Comparator<T> comp, boolean largest) {
+         this.comp = comp;
+         this.largest = largest;
+      }
+
+      abstract boolean accepts(T val);
+
+      Result<T> leaf(Spliterator<T> piece) {
+         final Result<T> best = new Result<T>();
+         piece.forEachRemaining(val -> {
+            if (accepts(val)) {
+               best.offer(val, this);
+            }
+         });
+         return best;
+      }
+
+      Result<T> combine(Result<T> left, Result<T> right) {
+         if (right.found) {
+            left.offer(right.value, this);
+         }
+         return left;
+      }
+
+      boolean better(T val, T current) {
+         int c = comp.compare(val, current);
+         return largest ? c > 0 : c < 0;
+      }
+
+      static final class Result<T> {
+         T value;
+         boolean found;
+
+         void offer(T val, Best<T> best) {
+            if (!found || best.better(val, value)) {
+               value = val;
+               found = true;
+            }
+         }
+
+         T get() {
+            if (!found) {
+               throw new NoSuchElementException();
+            }
+            return value;
+         }
+      }
+   }
+
+
+   /**
+    * Splits a Spliterator until its pieces are smaller than the threshold
+    * or cannot be split, then reduces the pieces.
+    */
+   private final class SplitTask<T, R> extends RecursiveTask<R> {
+      private static final long serialVersionUID = 1L;
+
+      private final Spliterator<T> piece;
+      private final Reduction<T, R> reduction;
+
+      SplitTask(Spliterator<T> piece, Reduction<T, R> reduction) {
+         this.piece = piece;
+         this.reduction = reduction;
+      }
+
+      @Override
+      protected R compute() {
+         Spliterator<T> prefix = null;
+         if (piece.estimateSize() >= 2L * threshold) {
+            prefix = piece.trySplit();
+         }
+         if (prefix == null) {
+            return reduction.leaf(piece);
+         }
+         SplitTask<T, R> left = new SplitTask<T, R>(prefix, reduction);
+         left.fork();
+         R right = new SplitTask<T, R>(piece, reduction).compute();
+         return reduction.combine(left.join(), right);
+      }
+   }
+
+}
@@ -0,0 +1,225 @@
+import java.util.Comparator;
+
+/**
+ * Selection engine used by Selector to find the kth smallest distinct
+ * value of an array under a Comparator without fully sorting it. Two
+ * values are treated as duplicates when the Comparator says they are
+ * equal. No hash can find such duplicates, and telling whether n values
+ * are distinct from comparisons alone takes O(n log n) time, so distinct
+ * values are counted while partitioning. When k is small, introselect
+ * first moves the 2k smallest values to the front, and only they are
+ * searched for the kth distinct value.
+ *
+ * @version 2018-01-25
+ *
+ */
+final class QuickSelect {
+
+/**
+ * Can't instantiate this class.
+ */
+   private QuickSelect() { }
+
+
+   /**
+    * Moves the kth smallest distinct value among the first n values of a,
+    * as defined by comp, into a[0] and returns true, or returns false if
+    * there are fewer than k distinct values. The first n values of a are
+    * reordered by this method. When k is at most an eighth of n and at
+    * least half of the 2k smallest values are distinct, this takes
+    * O(n + k log k) time. Otherwise it takes O(n log n) time.
+    *
+    * @param a       the values to select from
+    * @param n       the number of values of a to consider
+    * @param k       the k-selection value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        true if a kth smallest distinct value exists
+    */
+   static <T> boolean kminDistinct(T[] a, int n, int k, Comparator<? super T> comp) {
+      if (k <= n / 8) {
+         // Every value below the largest of the 2k smallest is among
+         // them, so a kth distinct value found there is the answer.
+         int last = 2 * k - 1;
+         select(a, 0, n - 1, last, depthLimit(n), comp);
+         if (selectDistinct(a, 0, last, k, depthLimit(last + 1), comp) == k) {
+            return true;
+         }
+      }
+      return selectDistinct(a, 0, n - 1, k, depthLimit(n), comp) == k;
+   }
+
+
+   /**
+    * Returns the number of partitioning rounds allowed before the
+    * engine switches to median-of-medians pivots.
+    */
+   private static int depthLimit(int n) {
+      return 2 * (32 - Integer.numberOfLeadingZeros(n));
+   }
+
+
+   /**
+    * Looks for the kth smallest distinct value in a[lo..hi]. If it is
+    * found, it is stored in a[lo] and k is returned. Otherwise the number
+    * of distinct values in a[lo..hi] is returned, which is then less
+    * than k, and a[lo..hi] has only been reordered. Pivots are picked by
+    * median-of-three for the first depth rounds and by median-of-medians
+    * after that, so every part that is descended into is a constant
+    * fraction smaller than the range it came from.
+    */
+   private static <T> int selectDistinct(T[] a, int lo, int hi, int k, int depth,
+                                         Comparator<? super T> comp) {
+      int first = lo;
+      int remaining = k;
+      while (lo <= hi) {
+         T pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThree(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            T value = a[i];
+            int c = comp.compare(value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         int below = (lt > lo) ? selectDistinct(a, lo, lt - 1, remaining, depth, comp) : 0;
+         if (below == remaining) {
+            a[first] = a[lo];
+            return k;
+         }
+         remaining -= below + 1;
+         if (remaining == 0) {
+            a[first] = a[lt];
+            return k;
+         }
+         lo = gt + 1;
+      }
+      return k - remaining;
+   }
+
+
+   /**
+    * Returns the value that would be at a[index] if a[lo..hi] were
+    * sorted by comp, and stores it there with no larger value before it
+    * and no smaller value after it. Pivots are picked as in
+    * selectDistinct, so this takes O(n) time.
+    */
+   private static <T> T select(T[] a, int lo, int hi, int index, int depth,
+                               Comparator<? super T> comp) {
+      while (lo < hi) {
+         T pivot;
+         if (depth > 0) {
+            depth--;
+            pivot = medianOfThree(a[lo], a[lo + ((hi - lo) >>> 1)], a[hi], comp);
+         }
+         else {
+            pivot = medianOfMedians(a, lo, hi, comp);
+         }
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            T value = a[i];
+            int c = comp.compare(value, pivot);
+            if (c < 0) {
+               a[i] = a[lt];
+               a[lt] = value;
+               lt++;
+               i++;
+            }
+            else if (c > 0) {
+               a[i] = a[gt];
+               a[gt] = value;
+               gt--;
+            }
+            else {
+               i++;
+            }
+         }
+         if (index < lt) {
+            hi = lt - 1;
+         }
+         else if (index > gt) {
+            lo = gt + 1;
+         }
+         else {
+            return a[index];
+         }
+      }
+      return a[index];
+   }
+
+
+   /**
+    * Returns the median of the medians of the groups of five values in
+    * a[lo..hi] as defined by comp. At least 3/10 of the values in the
+    * range are no larger than it and at least 3/10 are no smaller. The
+    * medians are moved to the front of the range along the way.
+    */
+   private static <T> T medianOfMedians(T[] a, int lo, int hi, Comparator<? super T> comp) {
+      int m = lo;
+      for (int i = lo; i <= hi; i += 5) {
+         int end = Math.min(i + 4, hi);
+         insertionSort(a, i, end, comp);
+         int median = i + ((end - i) >>> 1);
+         T value = a[median];
+         a[median] = a[m];
+         a[m] = value;
+         m++;
+      }
+      return select(a, lo, m - 1, lo + ((m - 1 - lo) >>> 1), 0, comp);
+   }
+
+
+   /**
+    * Sorts the few values in a[lo..hi] as defined by comp by insertion.
+    */
+   private static <T> void insertionSort(T[] a, int lo, int hi, Comparator<? super T> comp) {
+      for (int i = lo + 1; i <= hi; i++) {
+         T value = a[i];
+         int j = i - 1;
+         while ((j >= lo) && (comp.compare(a[j], value) > 0)) {
+            a[j + 1] = a[j];
+            j--;
+         }
+         a[j + 1] = value;
+      }
+   }
+
+
+   /**
+    * Returns the median of the three given values as defined by comp.
+    */
+   private static <T> T medianOfThree(T x, T y, T z, Comparator<? super T> comp) {
+      if (comp.compare(x, y) < 0) {
+         if (comp.compare(y, z) < 0) {
+            return y;
+         }
+         return (comp.compare(x, z) < 0) ? z : x;
+      }
+      if (comp.compare(x, z) < 0) {
+         return x;
+      }
+      return (comp.compare(y, z) < 0) ? z : y;
+   }
+
+}
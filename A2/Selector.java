@@ -1,9 +1,13 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.TreeSet;
 
 /**
  * Defines a library of selection methods on Collections.
@@ -13,6 +17,9 @@ import java.util.NoSuchElementException;
  */
 public final class Selector {
 
+   /** the Comparator returned by Comparator.naturalOrder(). */
+   private static final Object NATURAL_ORDER = Comparator.naturalOrder();
+
 /**
  * Can't instantiate this class.
  *
@@ -42,6 +49,10 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
+      NavigableSet<T> set = navigableWith(coll, comp);
+      if (set != null) {
+         return set.first();
+      }
       Iterator<T> itr = coll.iterator();
       T min = itr.next();
       for (T val : coll) {
@@ -73,6 +84,10 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
+      NavigableSet<T> set = navigableWith(coll, comp);
+      if (set != null) {
+         return set.last();
+      }
       Iterator<T> itr = coll.iterator();
       T max = itr.next();
       for (T val : coll) {
@@ -106,18 +121,15 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
-      ArrayList<T> duplicateFree = new ArrayList<T>();
-      for (T val : coll) {
-         if (!duplicateFree.contains(val)) {
-            duplicateFree.add(val);
-         }
+      if (k > coll.size() || k < 1) {
+         throw new NoSuchElementException();
       }
-      java.util.Collections.sort(duplicateFree, comp);
-      if (k > coll.size() || k < 1 || k > duplicateFree.size()) {
+      @SuppressWarnings("unchecked")
+      T[] values = (T[]) coll.toArray();
+      if (!QuickSelect.kminDistinct(values, values.length, k, comp)) {
          throw new NoSuchElementException();
       }
-      T kmin = (T) duplicateFree.get(k - 1);
-      return kmin;
+      return values[0];
    }
 
 
@@ -143,22 +155,156 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
-      ArrayList<T> duplicateFree = new ArrayList<T>();
-      for (T val : coll) {
-         if (!duplicateFree.contains(val)) {
-            duplicateFree.add(val);
+      if (k > coll.size() || k < 1) {
+         throw new NoSuchElementException();
+      }
+      @SuppressWarnings("unchecked")
+      T[] values = (T[]) coll.toArray();
+      // The kth maximum is the kth minimum under the reversed order.
+      if (!QuickSelect.kminDistinct(values, values.length, k, Collections.reverseOrder(comp))) {
+         throw new NoSuchElementException();
+      }
+      return values[0];
+   }
+
+
+   /**
+    * Returns a Summary of the Collection coll holding its size, minimum and
+    * maximum as defined by the Comparator comp, computed in one traversal.
+    * Minimum and maximum are found by comparing the values in pairs, which
+    * takes about 1.5n comparisons instead of the 2n used by calling min and
+    * max separately. If either coll or comp is null, this method throws an
+    * IllegalArgumentException. If coll is empty, this method throws a
+    * NoSuchElementException. This method will not change coll in any way.
+    *
+    * @param coll    the Collection to summarize
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a Summary of coll
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> Summary<T> summarize(Collection<T> coll, Comparator<T> comp)
+      throws IllegalArgumentException, NoSuchElementException {
+      return summarize(coll, comp, Collections.<T>emptyList());
+   }
+
+
+   /**
+    * Returns a Summary of the Collection coll holding its size, minimum and
+    * maximum, and the ceiling and floor of every value in keys, as defined by
+    * the Comparator comp, all computed in one traversal. Each value is placed
+    * among the sorted keys by binary search, so the traversal takes
+    * O(n log m) comparisons for m keys. If coll, comp or keys is null, this
+    * method throws an IllegalArgumentException. If coll is empty, this
+    * method throws a NoSuchElementException. This method will not change
+    * coll in any way.
+    *
+    * @param coll    the Collection to summarize
+    * @param comp    the Comparator that defines the total order on T
+    * @param keys    the reference values whose ceilings and floors are wanted
+    * @return        a Summary of coll
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> Summary<T> summarize(Collection<T> coll, Comparator<T> comp, List<T> keys)
+      throws IllegalArgumentException, NoSuchElementException {
+      if (coll == null || comp == null || keys == null) {
+         throw new IllegalArgumentException();
+      }
+      if (coll.isEmpty()) {
+         throw new NoSuchElementException();
+      }
+      KeyIndex<T> index = new KeyIndex<T>(keys, comp);
+      Iterator<T> itr = coll.iterator();
+      T min = itr.next();
+      T max = min;
+      int count = 1;
+      index.add(min);
+      while (itr.hasNext()) {
+         T a = itr.next();
+         count++;
+         index.add(a);
+         if (!itr.hasNext()) {
+            if (comp.compare(a, min) < 0) {
+               min = a;
+            }
+            else if (comp.compare(a, max) > 0) {
+               max = a;
+            }
+            break;
+         }
+         T b = itr.next();
+         count++;
+         index.add(b);
+         int c = comp.compare(a, b);
+         T small = (c <= 0) ? a : b;
+         T large = (c >= 0) ? a : b;
+         if (comp.compare(small, min) < 0) {
+            min = small;
+         }
+         if (comp.compare(large, max) > 0) {
+            max = large;
          }
       }
-      java.util.Collections.sort(duplicateFree, comp);
-      ArrayList<T> reversedDuplicateFree = new ArrayList<T>();
-      for (int i = 0; i < duplicateFree.size(); i++) {
-         reversedDuplicateFree.add(duplicateFree.get(duplicateFree.size() - i - 1));    
+      return index.summary(count, min, max);
+   }
+
+
+   /**
+    * Returns the k smallest distinct values in the Collection coll as defined
+    * by the Comparator comp, in ascending order, so that the jth element of
+    * the result is kmin(coll, j, comp). The Collection is traversed once
+    * while a bounded sorted set of k values is kept, which takes O(n log k)
+    * time and O(k) extra memory. If either coll or comp is null, this method
+    * throws an IllegalArgumentException. If coll is empty, k < 1, or coll has
+    * fewer than k distinct values, this method throws a
+    * NoSuchElementException. This method will not change coll in any way.
+    *
+    * @param coll    the Collection from which the values are selected
+    * @param k       the number of values to select
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the k smallest distinct values in coll, in ascending order
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> bottomK(Collection<T> coll, int k, Comparator<T> comp)
+      throws IllegalArgumentException, NoSuchElementException {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException();
+      }
+      if (coll.isEmpty() || k < 1 || k > coll.size()) {
+         throw new NoSuchElementException();
+      }
+      return smallestDistinct(coll, k, comp);
+   }
+
+
+   /**
+    * Returns the k largest distinct values in the Collection coll as defined
+    * by the Comparator comp, in descending order, so that the jth element of
+    * the result is kmax(coll, j, comp). The Collection is traversed once
+    * while a bounded sorted set of k values is kept, which takes O(n log k)
+    * time and O(k) extra memory. If either coll or comp is null, this method
+    * throws an IllegalArgumentException. If coll is empty, k < 1, or coll has
+    * fewer than k distinct values, this method throws a
+    * NoSuchElementException. This method will not change coll in any way.
+    *
+    * @param coll    the Collection from which the values are selected
+    * @param k       the number of values to select
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the k largest distinct values in coll, in descending order
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> topK(Collection<T> coll, int k, Comparator<T> comp)
+      throws IllegalArgumentException, NoSuchElementException {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException();
       }
-      if (k > coll.size() || k < 1 || k > duplicateFree.size()) {
+      if (coll.isEmpty() || k < 1 || k > coll.size()) {
          throw new NoSuchElementException();
       }
-      T kmax = (T) reversedDuplicateFree.get(k - 1);
-      return kmax;
+      return smallestDistinct(coll, k, Collections.reverseOrder(comp));
    }
 
 
@@ -190,6 +336,17 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
+      NavigableSet<T> set = navigableWith(coll, comp);
+      if (set != null) {
+         if (comp.compare(low, high) > 0) {
+            throw new NoSuchElementException();
+         }
+         ArrayList<T> values = new ArrayList<T>(set.subSet(low, true, high, true));
+         if (values.isEmpty()) {
+            throw new NoSuchElementException();
+         }
+         return values;
+      }
       ArrayList<T> values = new ArrayList<T>();
       for (T val : coll) {
          if ((comp.compare(val, low) >= 0) && (comp.compare(val, high) <= 0)) {
@@ -226,6 +383,14 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
+      NavigableSet<T> set = navigableWith(coll, comp);
+      if (set != null) {
+         T ceiling = set.ceiling(key);
+         if (ceiling == null) {
+            throw new NoSuchElementException();
+         }
+         return ceiling;
+      }
       ArrayList<T> values = new ArrayList<T>();
       T ceiling = (T) null;
       for (T val : coll) {
@@ -264,6 +429,14 @@ public final class Selector {
       if (coll.isEmpty()) {
          throw new NoSuchElementException();
       }
+      NavigableSet<T> set = navigableWith(coll, comp);
+      if (set != null) {
+         T floor = set.floor(key);
+         if (floor == null) {
+            throw new NoSuchElementException();
+         }
+         return floor;
+      }
       ArrayList<T> values = new ArrayList<T>();
       T floor = (T) null;
       for (T val : coll) {
@@ -278,4 +451,223 @@ public final class Selector {
       return floor;
    }
 
+
+   /**
+    * Returns a SortedView of the Collection coll as defined by the
+    * Comparator comp, for callers that issue many queries against the same
+    * values. If either coll or comp is null, this method throws an
+    * IllegalArgumentException. This method will not change coll in any way.
+    *
+    * @param coll    the Collection to view
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a sorted view of coll
+    * @throws        IllegalArgumentException as per above
+    */
+   public static <T> SortedView<T> sortedView(Collection<T> coll, Comparator<T> comp)
+      throws IllegalArgumentException {
+      return new SortedView<T>(coll, comp);
+   }
+
+
+   /**
+    * Returns coll as a NavigableSet if it is one that is ordered by comp, so
+    * that queries can be answered by its own O(log n) navigation methods,
+    * or null otherwise.
+    */
+   private static <T> NavigableSet<T> navigableWith(Collection<T> coll, Comparator<T> comp) {
+      if (!(coll instanceof NavigableSet)) {
+         return null;
+      }
+      NavigableSet<T> set = (NavigableSet<T>) coll;
+      Comparator<? super T> order = set.comparator();
+      if (order == null) {
+         return (comp == NATURAL_ORDER) ? set : null;
+      }
+      return (order == comp || order.equals(comp)) ? set : null;
+   }
+
+
+   /**
+    * Returns the k smallest distinct values of coll under comp in ascending
+    * order, or throws NoSuchElementException if there are fewer than k.
+    */
+   private static <T> List<T> smallestDistinct(Collection<T> coll, int k,
+                                               Comparator<? super T> comp) {
+      List<T> smallest = smallestDistinct(coll.iterator(), k, comp);
+      if (smallest.size() < k) {
+         throw new NoSuchElementException();
+      }
+      return smallest;
+   }
+
+
+   /**
+    * Returns up to k of the smallest distinct values remaining in itr under
+    * comp, in ascending order. Fewer than k values are returned only if itr
+    * has fewer than k distinct values. The values kept so far are held in a
+    * TreeSet ordered by comp, so a duplicate is found and the largest value
+    * evicted in O(log k) time, and a value that is not smaller than the
+    * largest one kept is rejected with a single comparison.
+    */
+   static <T> List<T> smallestDistinct(Iterator<T> itr, int k,
+                                       Comparator<? super T> comp) {
+      TreeSet<T> kept = new TreeSet<T>(comp);
+      T max = null;
+      while (itr.hasNext()) {
+         T val = itr.next();
+         if (kept.size() == k && comp.compare(val, max) >= 0) {
+            continue;
+         }
+         if (!kept.add(val)) {
+            continue;
+         }
+         if (kept.size() > k) {
+            kept.pollLast();
+         }
+         max = kept.last();
+      }
+      return new ArrayList<T>(kept);
+   }
+
+
+   /**
+    * Places values among a sorted, duplicate-free copy of a list of keys so
+    * that the ceiling and floor of every key can be resolved after a single
+    * traversal. For m distinct keys there are m + 1 open gaps between and
+    * around them; each gap remembers the first minimum and maximum value
+    * that fell into it, and each key remembers the first value equal to it.
+    */
+   private static final class KeyIndex<T> {
+      private final List<T> keys;
+      private final Comparator<T> comp;
+      private final T[] sorted;
+      private final int m;
+      private final Object[] equal;
+      private final boolean[] hasEqual;
+      private final Object[] gapMin;
+      private final Object[] gapMax;
+      private final boolean[] gapSeen;
+
+      @SuppressWarnings("unchecked")
+      KeyIndex(List<T> keys, Comparator<T> comp) {
+         this.keys = keys;
+         this.comp = comp;
+         sorted = (T[]) keys.toArray();
+         Arrays.sort(sorted, comp);
+         int n = 0;
+         for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || comp.compare(sorted[i], sorted[n - 1]) != 0) {
+               sorted[n] = sorted[i];
+               n++;
+            }
+         }
+         m = n;
+         equal = new Object[m];
+         hasEqual = new boolean[m];
+         gapMin = new Object[m + 1];
+         gapMax = new Object[m + 1];
+         gapSeen = new boolean[m + 1];
+      }
+
+      /**
+       * Returns the index of the key equal to val, or -(g + 1) where g is
+       * the gap that val falls into.
+       */
+      private int locate(T val) {
+         int lo = 0;
+         int hi = m - 1;
+         while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = comp.compare(sorted[mid], val);
+            if (c < 0) {
+               lo = mid + 1;
+            }
+            else if (c > 0) {
+               hi = mid - 1;
+            }
+            else {
+               return mid;
+            }
+         }
+         return -(lo + 1);
+      }
+
+      @SuppressWarnings("unchecked")
+      void add(T val) {
+         if (m == 0) {
+            return;
+         }
+         int i = locate(val);
+         if (i >= 0) {
+            if (!hasEqual[i]) {
+               equal[i] = val;
+               hasEqual[i] = true;
+            }
+            return;
+         }
+         int g = -(i + 1);
+         if (!gapSeen[g]) {
+            gapMin[g] = val;
+            gapMax[g] = val;
+            gapSeen[g] = true;
+         }
+         else if (comp.compare(val, (T) gapMin[g]) < 0) {
+            gapMin[g] = val;
+         }
+         else if (comp.compare(val, (T) gapMax[g]) > 0) {
+            gapMax[g] = val;
+         }
+      }
+
+      Summary<T> summary(int count, T min, T max) {
+         Object[] floorOf = new Object[m];
+         boolean[] hasFloorOf = new boolean[m];
+         for (int i = 0; i < m; i++) {
+            if (hasEqual[i]) {
+               floorOf[i] = equal[i];
+               hasFloorOf[i] = true;
+            }
+            else if (gapSeen[i]) {
+               floorOf[i] = gapMax[i];
+               hasFloorOf[i] = true;
+            }
+            else if (i > 0) {
+               floorOf[i] = floorOf[i - 1];
+               hasFloorOf[i] = hasFloorOf[i - 1];
+            }
+         }
+         Object[] ceilingOf = new Object[m];
+         boolean[] hasCeilingOf = new boolean[m];
+         for (int i = m - 1; i >= 0; i--) {
+            if (hasEqual[i]) {
+               ceilingOf[i] = equal[i];
+               hasCeilingOf[i] = true;
+            }
+            else if (gapSeen[i + 1]) {
+               ceilingOf[i] = gapMin[i + 1];
+               hasCeilingOf[i] = true;
+            }
+            else if (i < m - 1) {
+               ceilingOf[i] = ceilingOf[i + 1];
+               hasCeilingOf[i] = hasCeilingOf[i + 1];
+            }
+         }
+         int size = keys.size();
+         Object[] ceilings = new Object[size];
+         boolean[] hasCeiling = new boolean[size];
+         Object[] floors = new Object[size];
+         boolean[] hasFloor = new boolean[size];
+         int k = 0;
+         for (T key : keys) {
+            int i = locate(key);
+            ceilings[k] = ceilingOf[i];
+            hasCeiling[k] = hasCeilingOf[i];
+            floors[k] = floorOf[i];
+            hasFloor[k] = hasFloorOf[i];
+            k++;
+         }
+         return new Summary<T>(count, min, max, keys, ceilings, hasCeiling, floors, hasFloor);
+      }
+   }
+
 }
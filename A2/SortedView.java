@@ -0,0 +1,230 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted snapshot of a Collection that answers the Selector queries by
+ * binary search. Building the view copies and sorts the values once, in
+ * O(n log n) time, or O(n) if they are already in order. After that min
+ * and max take constant time, ceiling, floor, kmin and kmax take O(log n)
+ * time, and range takes O(log n + m) time for m returned values. Every
+ * query returns the same value as the corresponding Selector method on the
+ * original Collection, except that range returns its values in ascending
+ * order rather than encounter order.
+ *
+ * @version 2018-01-25
+ *
+ */
+public final class SortedView<T> {
+
+   /** the values in ascending order; equal values keep encounter order. */
+   private final T[] sorted;
+
+   /** index in sorted of the first value of each run of equal values. */
+   private final int[] distinct;
+
+   /** the Comparator that defines the total order on T. */
+   private final Comparator<T> comp;
+
+
+   /**
+    * Builds a sorted view of the values in coll as defined by comp. If
+    * either coll or comp is null, this constructor throws an
+    * IllegalArgumentException. Later changes to coll are not seen by the
+    * view.
+    *
+    * @param coll    the Collection to view
+    * @param comp    the Comparator that defines the total order on T
+    * @throws        IllegalArgumentException as per above
+    */
+   @SuppressWarnings("unchecked")
+   public SortedView(Collection<T> coll, Comparator<T> comp) throws IllegalArgumentException {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException();
+      }
+      this.comp = comp;
+      sorted = (T[]) coll.toArray();
+      Arrays.sort(sorted, comp);
+      int runs = 0;
+      for (int i = 0; i < sorted.length; i++) {
+         if (i == 0 || comp.compare(sorted[i - 1], sorted[i]) != 0) {
+            runs++;
+         }
+      }
+      distinct = new int[runs];
+      int n = 0;
+      for (int i = 0; i < sorted.length; i++) {
+         if (i == 0 || comp.compare(sorted[i - 1], sorted[i]) != 0) {
+            distinct[n] = i;
+            n++;
+         }
+      }
+   }
+
+
+   /**
+    * Returns the number of values in this view.
+    *
+    * @return        the number of values
+    */
+   public int size() {
+      return sorted.length;
+   }
+
+
+   /**
+    * Returns the minimum value. See Selector.min.
+    *
+    * @return        the minimum value
+    * @throws        NoSuchElementException if this view is empty
+    */
+   public T min() throws NoSuchElementException {
+      if (sorted.length == 0) {
+         throw new NoSuchElementException();
+      }
+      return sorted[0];
+   }
+
+
+   /**
+    * Returns the maximum value. See Selector.max.
+    *
+    * @return        the maximum value
+    * @throws        NoSuchElementException if this view is empty
+    */
+   public T max() throws NoSuchElementException {
+      if (sorted.length == 0) {
+         throw new NoSuchElementException();
+      }
+      return sorted[distinct[distinct.length - 1]];
+   }
+
+
+   /**
+    * Returns the kth minimum value. See Selector.kmin.
+    *
+    * @param k       the k-selection value
+    * @return        the kth minimum value
+    * @throws        NoSuchElementException if there is no kth minimum value
+    */
+   public T kmin(int k) throws NoSuchElementException {
+      if (k < 1 || k > distinct.length) {
+         throw new NoSuchElementException();
+      }
+      return sorted[distinct[k - 1]];
+   }
+
+
+   /**
+    * Returns the kth maximum value. See Selector.kmax.
+    *
+    * @param k       the k-selection value
+    * @return        the kth maximum value
+    * @throws        NoSuchElementException if there is no kth maximum value
+    */
+   public T kmax(int k) throws NoSuchElementException {
+      if (k < 1 || k > distinct.length) {
+         throw new NoSuchElementException();
+      }
+      return sorted[distinct[distinct.length - k]];
+   }
+
+
+   /**
+    * Returns a new List of all the values that are greater than or equal to
+    * low and less than or equal to high, in ascending order. See
+    * Selector.range.
+    *
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @return        a List of values between low and high
+    * @throws        NoSuchElementException if no values are in the range
+    */
+   public List<T> range(T low, T high) throws NoSuchElementException {
+      int from = lowerBound(low);
+      int to = upperBound(high);
+      if (from >= to) {
+         throw new NoSuchElementException();
+      }
+      return new ArrayList<T>(Arrays.asList(sorted).subList(from, to));
+   }
+
+
+   /**
+    * Returns the smallest value that is greater than or equal to key. See
+    * Selector.ceiling.
+    *
+    * @param key     the reference value
+    * @return        the ceiling value of key
+    * @throws        NoSuchElementException if there is no qualifying value
+    */
+   public T ceiling(T key) throws NoSuchElementException {
+      int i = lowerBound(key);
+      if (i == sorted.length) {
+         throw new NoSuchElementException();
+      }
+      return sorted[i];
+   }
+
+
+   /**
+    * Returns the largest value that is less than or equal to key. See
+    * Selector.floor.
+    *
+    * @param key     the reference value
+    * @return        the floor value of key
+    * @throws        NoSuchElementException if there is no qualifying value
+    */
+   public T floor(T key) throws NoSuchElementException {
+      int i = upperBound(key);
+      if (i == 0) {
+         throw new NoSuchElementException();
+      }
+      // Selector.floor returns the first of several equal values.
+      return sorted[lowerBound(sorted[i - 1])];
+   }
+
+
+   /**
+    * Returns the index of the first value that is greater than or equal to
+    * key, or size() if there is none.
+    */
+   private int lowerBound(T key) {
+      int lo = 0;
+      int hi = sorted.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (comp.compare(sorted[mid], key) < 0) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+
+   /**
+    * Returns the index of the first value that is greater than key, or
+    * size() if there is none.
+    */
+   private int upperBound(T key) {
+      int lo = 0;
+      int hi = sorted.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (comp.compare(sorted[mid], key) <= 0) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+}
@@ -0,0 +1,147 @@
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Holds the statistics computed by Selector.summarize in one traversal of a
+ * Collection: its size, minimum, maximum, and the ceiling and floor of each
+ * of the keys that were passed in.
+ *
+ * @version 2018-01-25
+ *
+ */
+public final class Summary<T> {
+
+   /** number of values traversed. */
+   private final int count;
+
+   /** minimum and maximum values. */
+   private final T min;
+   private final T max;
+
+   /** the keys, in the order they were given. */
+   private final List<T> keys;
+
+   /** ceiling and floor of each key, in key order; null when there is none. */
+   private final Object[] ceilings;
+   private final Object[] floors;
+
+   /** whether each key has a ceiling and a floor. */
+   private final boolean[] hasCeiling;
+   private final boolean[] hasFloor;
+
+
+   /**
+    * Creates a summary. Only Selector creates summaries.
+    */
+   Summary(int count, T min, T max, List<T> keys, Object[] ceilings,
+           boolean[] hasCeiling, Object[] floors, boolean[] hasFloor) {
+      this.count = count;
+      this.min = min;
+      this.max = max;
+      this.keys = keys;
+      this.ceilings = ceilings;
+      this.hasCeiling = hasCeiling;
+      this.floors = floors;
+      this.hasFloor = hasFloor;
+   }
+
+
+   /**
+    * Returns the number of values in the summarized Collection.
+    *
+    * @return        the number of values
+    */
+   public int count() {
+      return count;
+   }
+
+
+   /**
+    * Returns the minimum value, as Selector.min would.
+    *
+    * @return        the minimum value
+    */
+   public T min() {
+      return min;
+   }
+
+
+   /**
+    * Returns the maximum value, as Selector.max would.
+    *
+    * @return        the maximum value
+    */
+   public T max() {
+      return max;
+   }
+
+
+   /**
+    * Returns the keys whose ceilings and floors were computed.
+    *
+    * @return        the keys, in the order they were given
+    */
+   public List<T> keys() {
+      return keys;
+   }
+
+
+   /**
+    * Returns the ceiling of the ith key, as Selector.ceiling would. If the
+    * key has no ceiling, this method throws a NoSuchElementException. If i
+    * is not a valid key index, this method throws an
+    * IndexOutOfBoundsException.
+    *
+    * @param i       the index of the key
+    * @return        the ceiling value of the ith key
+    * @throws        NoSuchElementException as per above
+    */
+   @SuppressWarnings("unchecked")
+   public T ceiling(int i) throws NoSuchElementException {
+      if (!hasCeiling[i]) {
+         throw new NoSuchElementException();
+      }
+      return (T) ceilings[i];
+   }
+
+
+   /**
+    * Returns the floor of the ith key, as Selector.floor would. If the key
+    * has no floor, this method throws a NoSuchElementException. If i is not
+    * a valid key index, this method throws an IndexOutOfBoundsException.
+    *
+    * @param i       the index of the key
+    * @return        the floor value of the ith key
+    * @throws        NoSuchElementException as per above
+    */
+   @SuppressWarnings("unchecked")
+   public T floor(int i) throws NoSuchElementException {
+      if (!hasFloor[i]) {
+         throw new NoSuchElementException();
+      }
+      return (T) floors[i];
+   }
+
+
+   /**
+    * Returns true if the ith key has a ceiling.
+    *
+    * @param i       the index of the key
+    * @return        whether ceiling(i) returns a value
+    */
+   public boolean hasCeiling(int i) {
+      return hasCeiling[i];
+   }
+
+
+   /**
+    * Returns true if the ith key has a floor.
+    *
+    * @param i       the index of the key
+    * @return        whether floor(i) returns a value
+    */
+   public boolean hasFloor(int i) {
+      return hasFloor[i];
+   }
+
+}
@@ -0,0 +1,203 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * CompactLine.java
+ * Models a line segment as an immutable, sorted array of points packed
+ * into longs. Each point (x, y) is stored as (y << 32) | x, so the natural
+ * order of points is the signed order of their packed values. A compact
+ * line costs one array no matter how many points it has, and compares
+ * with other lines in constant time by its first and last points.
+ *
+ * @version  2018-02-27
+ *
+ */
+public final class CompactLine implements Comparable<CompactLine>, Iterable<Point> {
+
+   /** the packed points of this line, in ascending natural order. */
+   private final long[] points;
+
+   /**
+    * Creates a line from packed points that are already distinct, sorted,
+    * and collinear. The array is kept, not copied.
+    */
+   CompactLine(long[] points) {
+      this.points = points;
+   }
+
+   /**
+    * Creates a line containing all the distinct points in the array. This
+    * method throws IllegalArgumentException if the array is null or
+    * contains null, or if its points are not all collinear.
+    */
+   public static CompactLine of(Point... points) throws IllegalArgumentException {
+      if (points == null) {
+         throw new IllegalArgumentException();
+      }
+      long[] packed = new long[points.length];
+      for (int i = 0; i < points.length; i++) {
+         if (points[i] == null) {
+            throw new IllegalArgumentException();
+         }
+         packed[i] = pack(points[i]);
+      }
+      Arrays.sort(packed);
+      int n = 0;
+      for (int i = 0; i < packed.length; i++) {
+         if ((n == 0) || (packed[i] != packed[n - 1])) {
+            packed[n] = packed[i];
+            n++;
+         }
+      }
+      packed = Arrays.copyOf(packed, n);
+      for (int i = 2; i < n; i++) {
+         if (!Slope.equal(Slope.between(unpack(packed[0]), unpack(packed[1])),
+                          Slope.between(unpack(packed[0]), unpack(packed[i])))) {
+            throw new IllegalArgumentException();
+         }
+      }
+      return new CompactLine(packed);
+   }
+
+   /**
+    * Returns the number of points in this line.
+    */
+   public int length() {
+      return points.length;
+   }
+
+   /**
+    * Returns the ith point in this line in ascending natural order. This
+    * method throws IndexOutOfBoundsException if i < 0 or i >= length().
+    */
+   public Point get(int i) {
+      return unpack(points[i]);
+   }
+
+   /**
+    * Returns the first (minimum) point in this line or null if this line
+    * contains no points.
+    */
+   public Point first() {
+      return (points.length == 0) ? null : unpack(points[0]);
+   }
+
+   /**
+    * Returns the last (maximum) point in this line or null if this line
+    * contains no points.
+    */
+   public Point last() {
+      return (points.length == 0) ? null : unpack(points[points.length - 1]);
+   }
+
+   /**
+    * Returns a Line containing the same points as this line.
+    */
+   public Line toLine() {
+      Line line = new Line();
+      for (long p : points) {
+         line.add(unpack(p));
+      }
+      return line;
+   }
+
+   /**
+    * Compares this line with the specified line for order. Lines are ordered
+    * as Line orders them: first by their first point then by their last
+    * point, with an empty line less than any non-empty line.
+    */
+   @Override
+   public int compareTo(CompactLine that) {
+      if ((points.length == 0) || (that.points.length == 0)) {
+         return Boolean.compare(points.length != 0, that.points.length != 0);
+      }
+      int c = Long.compare(points[0], that.points[0]);
+      if (c != 0) {
+         return c;
+      }
+      return Long.compare(points[points.length - 1], that.points[that.points.length - 1]);
+   }
+
+   /**
+    * Provide an iterator over all the points in this line in ascending
+    * natural order.
+    */
+   @Override
+   public Iterator<Point> iterator() {
+      return new Iterator<Point>() {
+         private int i = 0;
+
+         @Override
+         public boolean hasNext() {
+            return i < points.length;
+         }
+
+         @Override
+         public Point next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            i++;
+            return unpack(points[i - 1]);
+         }
+      };
+   }
+
+   /**
+    * Return true if this line's first and last points are equal to the
+    * parameter's first and last points, as Line.equals does.
+    */
+   @Override
+   public boolean equals(Object obj) {
+      if (obj == this) {
+         return true;
+      }
+      if (!(obj instanceof CompactLine)) {
+         return false;
+      }
+      return compareTo((CompactLine) obj) == 0;
+   }
+
+   /**
+    * Returns a hash code consistent with equals.
+    */
+   @Override
+   public int hashCode() {
+      if (points.length == 0) {
+         return 0;
+      }
+      return 31 * Long.hashCode(points[0]) + Long.hashCode(points[points.length - 1]);
+   }
+
+   /**
+    * Return a string representation of this line, in the same format as
+    * Line.toString.
+    */
+   @Override
+   public String toString() {
+      StringBuilder s = new StringBuilder();
+      for (int i = 0; i < points.length; i++) {
+         if (i > 0) {
+            s.append(" -> ");
+         }
+         s.append(unpack(points[i]));
+      }
+      return s.toString();
+   }
+
+   /**
+    * Packs the point p into a long whose signed order is natural order.
+    */
+   static long pack(Point p) {
+      return ((long) p.y() << 32) | p.x();
+   }
+
+   /**
+    * Returns the point packed into the long p.
+    */
+   static Point unpack(long p) {
+      return new Point((int) p, (int) (p >>> 32));
+   }
+
+}
@@ -1,10 +1,19 @@
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.Scanner;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Extractor.java. Implements feature extraction for collinear points in
@@ -22,25 +31,35 @@ public class Extractor {
    private SortedSet<Line> lines;
   
    /**
-    * Builds an extractor based on the points in the file named by filename. 
+    * Builds an extractor based on the points in the file named by filename,
+    * which may be in either format that PointFile reads. If the file cannot
+    * be read, a message is printed and the extractor has no points; use load
+    * to have the error reported instead.
     */
    public Extractor(String filename) {
       try {
-         Scanner scan = new Scanner(new File(filename));
-         int fileLength = scan.nextInt();
-         points = new Point[fileLength];
-         int count = 0;
-         while (scan.hasNext()) {
-            int x = scan.nextInt();
-            int y = scan.nextInt();
-            Point p = new Point(x, y);
-            points[count] = p;
-            count++;
-         }
-      } catch (Exception e) {
+         points = PointFile.toPoints(PointFile.read(Paths.get(filename)));
+      } catch (IOException | IllegalArgumentException e) {
          System.out.println("File not found");
       }
    }
+   
+   /**
+    * Builds an extractor based on the given points, which are kept.
+    */
+   private Extractor(Point[] points) {
+      this.points = points;
+   }
+   
+   /**
+    * Returns an extractor based on the points in the file named by filename,
+    * which may be in either format that PointFile reads. This method throws
+    * IOException if the file cannot be read or is malformed, and
+    * IllegalArgumentException if it contains a negative coordinate.
+    */
+   public static Extractor load(String filename) throws IOException {
+      return new Extractor(PointFile.toPoints(PointFile.read(Paths.get(filename))));
+   }
   
    /**
     * Builds an extractor based on the points in the Collection named by pcoll. 
@@ -55,24 +74,41 @@ public class Extractor {
     * Returns a sorted set of all line segments of exactly four collinear
     * points. Uses a brute-force combinatorial strategy. Returns an empty set
     * if there are no qualifying line segments.
+    *
+    * The exact slopes from each point to every point before it are computed
+    * once into a reused row, so the nested loops only compare longs. Lines
+    * are equal when their endpoints are, so only the first quadruple found
+    * for each pair of endpoints is turned into a Line; the rest are skipped
+    * by looking up the endpoints' ranks in a hash set. Memory therefore grows
+    * with the number of distinct lines, not with the number of quadruples.
     */
    public SortedSet<Line> getLinesBrute() {
       lines = new TreeSet<Line>();
-      Iterator itr = lines.iterator();
       Point[] array = Arrays.copyOf(points, points.length);
+      int[] rank = ranks(array);
+      long[] row = new long[array.length];
+      LongSet seen = new LongSet();
       for (int z = 3; z < array.length; z++) {
+         for (int j = 0; j < z; j++) {
+            row[j] = Slope.reduce(array[z].exactSlopeTo(array[j]));
+         }
          for (int a = 2; a < z; a++) {
+            long s = row[a];
             for (int c = 1; c < a; c++) {
+               if (row[c] != s) {
+                  continue;
+               }
+               int lo = Math.min(rank[z], Math.min(rank[a], rank[c]));
+               int hi = Math.max(rank[z], Math.max(rank[a], rank[c]));
                for (int h = 0; h < c; h++) {
-                  if ((array[z].slopeTo(array[a])) == (array[z].slopeTo(array[c]))) {
-                     if ((array[z].slopeTo(array[c])) == (array[z].slopeTo(array[h]))) {
-                        Line l = new Line();
-                        l.add(array[z]);
-                        l.add(array[a]);
-                        l.add(array[c]);
-                        l.add(array[h]);
-                        lines.add(l);
-                     }
+                  if ((row[h] == s) && seen.add(((long) Math.min(lo, rank[h]) << 32)
+                                                | Math.max(hi, rank[h]))) {
+                     Line l = new Line();
+                     l.add(array[z]);
+                     l.add(array[a]);
+                     l.add(array[c]);
+                     l.add(array[h]);
+                     lines.add(l);
                   }
                }
             }
@@ -80,23 +116,42 @@ public class Extractor {
       }
       return lines;
    }
-  
+
+   /**
+    * Returns the rank of each point in array in natural order, with equal
+    * points given equal ranks.
+    */
+   private static int[] ranks(Point[] array) {
+      long[] sorted = new long[array.length];
+      for (int i = 0; i < array.length; i++) {
+         sorted[i] = CompactLine.pack(array[i]);
+      }
+      Arrays.sort(sorted);
+      int[] rank = new int[array.length];
+      for (int i = 0; i < array.length; i++) {
+         rank[i] = Arrays.binarySearch(sorted, CompactLine.pack(array[i]));
+      }
+      return rank;
+   }
+
    /**
     * Returns a sorted set of all line segments of at least four collinear
     * points. The line segments are maximal; that is, no sub-segments are
-    * identified separately. A sort-and-scan strategy is used. Returns an empty
-    * set if there are no qualifying line segments.
+    * identified separately. A sort-and-scan strategy is used, sorting by exact
+    * slope so that no floating point is involved. Returns an empty set if
+    * there are no qualifying line segments.
     */
    public SortedSet<Line> getLinesFast() {
       lines = new TreeSet<Line>();
       Point[] arrayCopy = Arrays.copyOf(points, points.length);
       for (int i = 0; i < points.length; i++) {
          int numberOfEqualSlopes = 0;
-         Arrays.sort(arrayCopy, points[i].slopeOrder);
+         Comparator<Point> bySlope = points[i].exactSlopeOrder();
+         Arrays.sort(arrayCopy, bySlope);
          for (int j = 0; j < points.length - 1; j = j + numberOfEqualSlopes) {
             int count = 0;
             numberOfEqualSlopes = 0;
-            while (((j + count) < points.length) && (points[i].slopeOrder.compare(arrayCopy[j], arrayCopy[j + count]) == 0)) {
+            while (((j + count) < points.length) && (bySlope.compare(arrayCopy[j], arrayCopy[j + count]) == 0)) {
                count++;
                numberOfEqualSlopes++;
             }
@@ -113,4 +168,470 @@ public class Extractor {
       return lines;
    }
    
+   
+   /**
+    * Returns the same sorted set of maximal line segments as getLinesFast,
+    * with the anchor points split across the common ForkJoinPool.
+    */
+   public SortedSet<Line> getLinesParallel() {
+      return getLinesParallel(ForkJoinPool.commonPool());
+   }
+   
+   /**
+    * Returns the same sorted set of maximal line segments as getLinesFast,
+    * with the anchor points split across the given pool. Each task sorts its
+    * own copy of the points by exact slope around each of its anchors and
+    * collects segments in its own list. When the points are distinct, only
+    * segments whose minimum point is the anchor are kept, so every segment
+    * is found once; otherwise every segment is kept, as getLinesFast does.
+    * The lists are merged into the sorted set at the end, which removes any
+    * duplicate segments. This method throws IllegalArgumentException if pool
+    * is null.
+    */
+   public SortedSet<Line> getLinesParallel(ForkJoinPool pool) {
+      if (pool == null) {
+         throw new IllegalArgumentException();
+      }
+      Point[] sorted = Arrays.copyOf(points, points.length);
+      Arrays.sort(sorted);
+      boolean distinct = true;
+      for (int i = 1; i < sorted.length; i++) {
+         distinct &= !sorted[i].equals(sorted[i - 1]);
+      }
+      int grain = Math.max(1, points.length / (pool.getParallelism() * 4));
+      lines = new TreeSet<Line>(pool.invoke(new AnchorTask(points, 0, points.length, grain, distinct)));
+      return lines;
+   }
+   
+   /**
+    * Returns the same sorted set of maximal line segments as getLinesFast
+    * would for the distinct points, found by hashing exact slopes instead
+    * of sorting by floating-point slope. See getCompactLines.
+    */
+   public SortedSet<Line> getLinesHash() {
+      lines = new TreeSet<Line>();
+      for (CompactLine l : getCompactLines()) {
+         lines.add(l.toLine());
+      }
+      return lines;
+   }
+   
+   /**
+    * Returns a sorted list of all line segments of at least four distinct
+    * collinear points as compact lines. The line segments are maximal, and
+    * each appears exactly once. Points are taken in natural order, and for
+    * each anchor point every other point is grouped in a primitive hash
+    * table by the reduced exact Slope between the two. A group with at least
+    * three points after the anchor and none before it is a maximal segment
+    * whose minimum point is the anchor, and its points are already in
+    * natural order, so it is packed straight into a CompactLine. Runs in
+    * O(n^2) expected time.
+    */
+   public List<CompactLine> getCompactLines() {
+      List<CompactLine> found = new ArrayList<CompactLine>();
+      Point[] sorted = Arrays.copyOf(points, points.length);
+      Arrays.sort(sorted);
+      SlopeTable table = new SlopeTable(sorted.length);
+      long[] segment = new long[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+         Point anchor = sorted[i];
+         if ((i > 0) && sorted[i - 1].equals(anchor)) {
+            continue;
+         }
+         table.clear();
+         for (int j = 0; j < i; j++) {
+            table.addBefore(Slope.reduce(anchor.exactSlopeTo(sorted[j])));
+         }
+         for (int j = sorted.length - 1; j > i; j--) {
+            if (!sorted[j].equals(anchor)) {
+               table.addAfter(Slope.reduce(anchor.exactSlopeTo(sorted[j])), j);
+            }
+         }
+         for (int g = 0; g < table.size(); g++) {
+            if ((table.before(g) == 0) && (table.after(g) > 2)) {
+               int n = 0;
+               segment[n] = CompactLine.pack(anchor);
+               n++;
+               for (int j = table.first(g); j >= 0; j = table.next(j)) {
+                  long p = CompactLine.pack(sorted[j]);
+                  if (p != segment[n - 1]) {
+                     segment[n] = p;
+                     n++;
+                  }
+               }
+               if (n > 3) {
+                  found.add(new CompactLine(Arrays.copyOf(segment, n)));
+               }
+            }
+         }
+      }
+      Collections.sort(found);
+      return found;
+   }
+   
+   /**
+    * Returns a stream of all maximal line segments of at least minPoints
+    * distinct collinear points, in ascending order. Segments are found by
+    * the same hashing strategy as getCompactLines, one anchor point at a
+    * time, only as the stream is consumed, so no set of segments is ever
+    * built and a consumer that stops early saves the rest of the work.
+    * This method throws IllegalArgumentException if minPoints < 2.
+    */
+   public Stream<Line> lines(int minPoints) {
+      if (minPoints < 2) {
+         throw new IllegalArgumentException();
+      }
+      Point[] sorted = Arrays.copyOf(points, points.length);
+      Arrays.sort(sorted);
+      return StreamSupport.stream(new LineSpliterator(sorted, minPoints), false);
+   }
+   
+   /**
+    * Passes every maximal line segment of at least minPoints distinct
+    * collinear points to action, in ascending order, as each is found. This
+    * method throws IllegalArgumentException if minPoints < 2 or action is
+    * null.
+    */
+   public void forEachLine(int minPoints, Consumer<? super Line> action) {
+      if (action == null) {
+         throw new IllegalArgumentException();
+      }
+      lines(minPoints).forEach(action);
+   }
+   
+   /**
+    * Returns a sorted set of all line segments of at least four collinear
+    * points whose first and last points are at most span apart, and that
+    * cannot take in another point of their line without exceeding that span.
+    * Where a maximal segment found by getLinesFast is no longer than span,
+    * it is returned as is; a longer one is returned as each of its maximal
+    * runs that fit within span. Duplicate points are counted once. This
+    * method throws IllegalArgumentException if span < 1.
+    *
+    * The points are bucketed into a grid of span by span cells, so only the
+    * points in the nine cells around each anchor point are compared with
+    * it. Nearby points after the anchor in natural order are grouped by
+    * exact slope, and a group of at least three is a run starting at the
+    * anchor; it is kept unless a nearby point before the anchor on the same
+    * line is close enough to its last point to extend it. On sparse point
+    * clouds this does near-linear work instead of comparing all pairs.
+    */
+   public SortedSet<Line> getLinesWithin(int span) {
+      if (span < 1) {
+         throw new IllegalArgumentException();
+      }
+      lines = new TreeSet<Line>();
+      // Number the occupied cells, computing each point's cell once, and
+      // bucket the points by cell number; cell c holds grid[start[c]] up
+      // to grid[start[c + 1] - 1], in natural order.
+      LongIntMap cells = new LongIntMap(points.length);
+      int[] cellOf = new int[points.length];
+      int[] start = new int[points.length + 1];
+      int cellCount = 0;
+      for (int i = 0; i < points.length; i++) {
+         long key = cell(points[i], span);
+         int c = cells.get(key);
+         if (c == LongIntMap.NONE) {
+            c = cellCount;
+            cells.put(key, c);
+            cellCount++;
+         }
+         cellOf[i] = c;
+         start[c + 1]++;
+      }
+      for (int c = 0; c < cellCount; c++) {
+         start[c + 1] += start[c];
+      }
+      Point[] grid = new Point[points.length];
+      int[] fill = Arrays.copyOf(start, cellCount);
+      for (int i = 0; i < points.length; i++) {
+         grid[fill[cellOf[i]]] = points[i];
+         fill[cellOf[i]]++;
+      }
+      for (int c = 0; c < cellCount; c++) {
+         Arrays.sort(grid, start[c], start[c + 1]);
+      }
+      long reach = (long) span * span;
+      SlopeTable after = new SlopeTable(grid.length);
+      SlopeTable before = new SlopeTable(grid.length);
+      for (int i = 0; i < grid.length; i++) {
+         Point anchor = grid[i];
+         if ((i > 0) && grid[i - 1].equals(anchor)) {
+            continue;
+         }
+         after.clear();
+         before.clear();
+         int cx = anchor.x() / span;
+         int cy = anchor.y() / span;
+         for (int y = Math.max(0, cy - 1); y <= cy + 1; y++) {
+            for (int x = Math.max(0, cx - 1); x <= cx + 1; x++) {
+               int id = cells.get(((long) y << 32) | x);
+               if (id == LongIntMap.NONE) {
+                  continue;
+               }
+               for (int j = start[id]; j < start[id + 1]; j++) {
+                  int c = grid[j].compareTo(anchor);
+                  if ((c != 0) && (distanceSquared(anchor, grid[j]) <= reach)) {
+                     long slope = Slope.reduce(anchor.exactSlopeTo(grid[j]));
+                     if (c > 0) {
+                        after.addAfter(slope, j);
+                     }
+                     else {
+                        before.addAfter(slope, j);
+                     }
+                  }
+               }
+            }
+         }
+         for (int g = 0; g < after.size(); g++) {
+            if (after.after(g) > 2) {
+               Line l = new Line();
+               l.add(anchor);
+               for (int j = after.first(g); j >= 0; j = after.next(j)) {
+                  l.add(grid[j]);
+               }
+               if ((l.length() > 3) && !extendable(before, after.key(g), grid, l.last(), reach)) {
+                  lines.add(l);
+               }
+            }
+         }
+      }
+      return lines;
+   }
+   
+   /**
+    * Returns true if one of the points grouped under key in before is within
+    * the squared distance reach of last.
+    */
+   private static boolean extendable(SlopeTable before, long key, Point[] grid, Point last, long reach) {
+      int g = before.indexOf(key);
+      if (g < 0) {
+         return false;
+      }
+      for (int j = before.first(g); j >= 0; j = before.next(j)) {
+         if (distanceSquared(grid[j], last) <= reach) {
+            return true;
+         }
+      }
+      return false;
+   }
+   
+   /**
+    * Returns the key of the grid cell of the given size that holds p.
+    */
+   private static long cell(Point p, int size) {
+      return ((long) (p.y() / size) << 32) | (p.x() / size);
+   }
+   
+   /**
+    * Returns the square of the distance between p and q.
+    */
+   private static long distanceSquared(Point p, Point q) {
+      long dx = p.x() - q.x();
+      long dy = p.y() - q.y();
+      return dx * dx + dy * dy;
+   }
+   
+   /**
+    * A growable open-addressing hash set of non-negative longs.
+    */
+   private static final class LongSet {
+      private static final long EMPTY = -1L;
+
+      private long[] slots = newSlots(16);
+      private int size;
+
+      /**
+       * Adds key and returns true if it was not already in the set.
+       */
+      boolean add(long key) {
+         int mask = slots.length - 1;
+         int i = slot(key, mask);
+         while (slots[i] != EMPTY) {
+            if (slots[i] == key) {
+               return false;
+            }
+            i = (i + 1) & mask;
+         }
+         slots[i] = key;
+         size++;
+         if (2 * size > slots.length) {
+            grow();
+         }
+         return true;
+      }
+
+      private void grow() {
+         long[] old = slots;
+         slots = newSlots(2 * old.length);
+         int mask = slots.length - 1;
+         for (long key : old) {
+            if (key != EMPTY) {
+               int i = slot(key, mask);
+               while (slots[i] != EMPTY) {
+                  i = (i + 1) & mask;
+               }
+               slots[i] = key;
+            }
+         }
+      }
+
+      private static int slot(long key, int mask) {
+         long h = key * 0x9E3779B97F4A7C15L;
+         return (int) (h ^ (h >>> 32)) & mask;
+      }
+
+      private static long[] newSlots(int capacity) {
+         long[] slots = new long[capacity];
+         Arrays.fill(slots, EMPTY);
+         return slots;
+      }
+   }
+
+   /**
+    * Finds the maximal segments whose minimum point is one of the anchors
+    * points[lo..hi), or every segment through them if the points are not
+    * distinct, splitting the range in half until at most grain anchors
+    * remain.
+    */
+   private static final class AnchorTask extends RecursiveTask<List<Line>> {
+      private static final long serialVersionUID = 1L;
+
+      private final Point[] points;
+      private final int lo;
+      private final int hi;
+      private final int grain;
+      private final boolean distinct;
+   
+      AnchorTask(Point[] points, int lo, int hi, int grain, boolean distinct) {
+         this.points = points;
+         this.lo = lo;
+         this.hi = hi;
+         this.grain = grain;
+         this.distinct = distinct;
+      }
+   
+      @Override
+      protected List<Line> compute() {
+         if (hi - lo <= grain) {
+            return scan();
+         }
+         int mid = (lo + hi) >>> 1;
+         AnchorTask left = new AnchorTask(points, lo, mid, grain, distinct);
+         AnchorTask right = new AnchorTask(points, mid, hi, grain, distinct);
+         left.fork();
+         List<Line> found = right.compute();
+         List<Line> leftFound = left.join();
+         leftFound.addAll(found);
+         return leftFound;
+      }
+   
+      /**
+       * Sorts and scans around each anchor in this task's range.
+       */
+      private List<Line> scan() {
+         List<Line> found = new ArrayList<Line>();
+         Point[] scratch = Arrays.copyOf(points, points.length);
+         for (int i = lo; i < hi; i++) {
+            Point anchor = points[i];
+            Arrays.sort(scratch, anchor.exactSlopeOrder());
+            int j = 0;
+            while (j < scratch.length) {
+               long slope = anchor.exactSlopeTo(scratch[j]);
+               int end = j + 1;
+               boolean anchorIsMin = anchor.compareTo(scratch[j]) < 0;
+               while ((end < scratch.length) && Slope.equal(slope, anchor.exactSlopeTo(scratch[end]))) {
+                  anchorIsMin &= anchor.compareTo(scratch[end]) < 0;
+                  end++;
+               }
+               if ((end - j > 2) && (anchorIsMin || !distinct)) {
+                  Line l = new Line();
+                  l.add(anchor);
+                  for (int k = j; k < end; k++) {
+                     l.add(scratch[k]);
+                  }
+                  found.add(l);
+               }
+               j = end;
+            }
+         }
+         return found;
+      }
+   }
+   
+   /**
+    * Produces the maximal segments of at least minPoints points in order,
+    * finding those anchored at the next point only when the segments found
+    * so far have all been taken.
+    */
+   private static final class LineSpliterator extends Spliterators.AbstractSpliterator<Line> {
+      private final Point[] sorted;
+      private final int minPoints;
+      private final SlopeTable table;
+      private final List<Line> pending = new ArrayList<Line>();
+      private int next;
+      private int anchor;
+   
+      LineSpliterator(Point[] sorted, int minPoints) {
+         super(Long.MAX_VALUE, ORDERED | SORTED | DISTINCT | NONNULL);
+         this.sorted = sorted;
+         this.minPoints = minPoints;
+         this.table = new SlopeTable(sorted.length);
+      }
+   
+      @Override
+      public boolean tryAdvance(Consumer<? super Line> action) {
+         while ((next == pending.size()) && (anchor < sorted.length)) {
+            pending.clear();
+            next = 0;
+            scan(anchor);
+            anchor++;
+         }
+         if (next == pending.size()) {
+            return false;
+         }
+         action.accept(pending.get(next));
+         next++;
+         return true;
+      }
+   
+      @Override
+      public Comparator<? super Line> getComparator() {
+         return null;
+      }
+   
+      /**
+       * Adds the segments whose minimum point is sorted[i] to pending, in
+       * order.
+       */
+      private void scan(int i) {
+         Point p = sorted[i];
+         if ((i > 0) && sorted[i - 1].equals(p)) {
+            return;
+         }
+         table.clear();
+         for (int j = 0; j < i; j++) {
+            table.addBefore(Slope.reduce(p.exactSlopeTo(sorted[j])));
+         }
+         for (int j = sorted.length - 1; j > i; j--) {
+            if (!sorted[j].equals(p)) {
+               table.addAfter(Slope.reduce(p.exactSlopeTo(sorted[j])), j);
+            }
+         }
+         for (int g = 0; g < table.size(); g++) {
+            if ((table.before(g) == 0) && (table.after(g) >= minPoints - 1)) {
+               Line l = new Line();
+               l.add(p);
+               for (int j = table.first(g); j >= 0; j = table.next(j)) {
+                  l.add(sorted[j]);
+               }
+               if (l.length() >= minPoints) {
+                  pending.add(l);
+               }
+            }
+         }
+         Collections.sort(pending);
+      }
+   }
+   
 }
@@ -0,0 +1,225 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * IncrementalExtractor.java. Maintains the maximal line segments of at
+ * least four collinear points of a set of distinct points while points are
+ * added and removed, so that the segments need not be recomputed from
+ * scratch after every change.
+ *
+ * A maximal segment holds every point of the set on its line, so adding or
+ * removing a point only affects the segments through that point. Each
+ * update groups the other points by their exact slope to the changed point,
+ * which finds all of those segments in O(n) expected time, and reports the
+ * segments that were removed and added as a result. A segment that grows
+ * or shrinks is reported as its old version removed and its new version
+ * added; a segment that is created or destroyed appears on only one side.
+ * Segments never merge or split, since two segments on the same line are
+ * always one segment.
+ *
+ * @version 2018-02-27
+ *
+ */
+public class IncrementalExtractor {
+
+   /** the smallest number of points in a reported segment. */
+   private static final int MIN_POINTS = 4;
+
+   /** the points in the set, in no particular order. */
+   private final List<Point> points = new ArrayList<Point>();
+
+   /** the index in points of each point, keyed by packed coordinates. */
+   private final LongIntMap index = new LongIntMap(16);
+
+   /** the current maximal segments. */
+   private final SortedSet<Line> lines = new TreeSet<Line>();
+
+   /** groups the points by slope to the changed point; grown as needed. */
+   private SlopeTable table = new SlopeTable(16);
+   private int tableCapacity = 16;
+
+   /**
+    * Creates an incremental extractor with no points.
+    */
+   public IncrementalExtractor() { }
+
+   /**
+    * Creates an incremental extractor holding the distinct points in pcoll.
+    * This constructor throws IllegalArgumentException if pcoll is null or
+    * contains null.
+    */
+   public IncrementalExtractor(Collection<Point> pcoll) throws IllegalArgumentException {
+      if (pcoll == null) {
+         throw new IllegalArgumentException();
+      }
+      for (Point p : pcoll) {
+         add(p);
+      }
+   }
+
+   /**
+    * Returns the number of points in the set.
+    */
+   public int size() {
+      return points.size();
+   }
+
+   /**
+    * Returns true if the set contains the point p.
+    */
+   public boolean contains(Point p) {
+      return (p != null) && (index.get(CompactLine.pack(p)) != LongIntMap.NONE);
+   }
+
+   /**
+    * Returns a read-only view of the current maximal segments, the same set
+    * that Extractor.getLinesFast would return for the points in the set.
+    */
+   public SortedSet<Line> getLines() {
+      return Collections.unmodifiableSortedSet(lines);
+   }
+
+   /**
+    * Adds the point p to the set and returns the segments that changed as a
+    * result. If p is already in the set, nothing changes. This method throws
+    * IllegalArgumentException if p is null.
+    */
+   public Update add(Point p) throws IllegalArgumentException {
+      if (p == null) {
+         throw new IllegalArgumentException();
+      }
+      Update update = new Update();
+      if (contains(p)) {
+         return update;
+      }
+      group(p, -1);
+      for (int g = 0; g < table.size(); g++) {
+         int m = table.after(g);
+         if (m + 1 >= MIN_POINTS) {
+            Line before = line(g, null);
+            Line after = line(g, p);
+            if (m >= MIN_POINTS) {
+               lines.remove(before);
+               update.removed.add(before);
+            }
+            lines.add(after);
+            update.added.add(after);
+         }
+      }
+      index.put(CompactLine.pack(p), points.size());
+      points.add(p);
+      return update;
+   }
+
+   /**
+    * Removes the point p from the set and returns the segments that changed
+    * as a result. If p is not in the set, nothing changes. This method
+    * throws IllegalArgumentException if p is null.
+    */
+   public Update remove(Point p) throws IllegalArgumentException {
+      if (p == null) {
+         throw new IllegalArgumentException();
+      }
+      Update update = new Update();
+      int i = index.get(CompactLine.pack(p));
+      if (i == LongIntMap.NONE) {
+         return update;
+      }
+      group(p, i);
+      for (int g = 0; g < table.size(); g++) {
+         int m = table.after(g);
+         if (m + 1 >= MIN_POINTS) {
+            Line before = line(g, p);
+            lines.remove(before);
+            update.removed.add(before);
+            if (m >= MIN_POINTS) {
+               Line after = line(g, null);
+               lines.add(after);
+               update.added.add(after);
+            }
+         }
+      }
+      Point last = points.remove(points.size() - 1);
+      index.remove(CompactLine.pack(p));
+      if (i < points.size()) {
+         points.set(i, last);
+         index.put(CompactLine.pack(last), i);
+      }
+      return update;
+   }
+
+   /**
+    * Groups every point in the set other than the one at index skip by its
+    * reduced exact slope to p.
+    */
+   private void group(Point p, int skip) {
+      if (points.size() > tableCapacity) {
+         tableCapacity = Math.max(points.size(), 2 * tableCapacity);
+         table = new SlopeTable(tableCapacity);
+      }
+      table.clear();
+      for (int j = 0; j < points.size(); j++) {
+         if (j != skip) {
+            table.addAfter(Slope.reduce(p.exactSlopeTo(points.get(j))), j);
+         }
+      }
+   }
+
+   /**
+    * Returns a line holding the points of the gth group, and p if it is not
+    * null.
+    */
+   private Line line(int g, Point p) {
+      Line l = new Line();
+      if (p != null) {
+         l.add(p);
+      }
+      for (int j = table.first(g); j >= 0; j = table.next(j)) {
+         l.add(points.get(j));
+      }
+      return l;
+   }
+
+   /**
+    * The segments removed and added by one change to the set.
+    */
+   public static final class Update {
+
+      /** the segments that no longer exist, and the new segments. */
+      private final List<Line> removed = new ArrayList<Line>();
+      private final List<Line> added = new ArrayList<Line>();
+
+      /**
+       * Creates an update with no changes.
+       */
+      Update() { }
+
+      /**
+       * Returns the segments that were destroyed, or replaced by a longer or
+       * shorter segment on the same line.
+       */
+      public List<Line> removed() {
+         return Collections.unmodifiableList(removed);
+      }
+
+      /**
+       * Returns the segments that were created, or that replace a segment on
+       * the same line.
+       */
+      public List<Line> added() {
+         return Collections.unmodifiableList(added);
+      }
+
+      /**
+       * Returns true if no segment changed.
+       */
+      public boolean isEmpty() {
+         return removed.isEmpty() && added.isEmpty();
+      }
+   }
+
+}
@@ -38,10 +38,11 @@ public class Line implements Comparable<Line>, Iterable<Point> {
    /** 
     * Adds the point p to this line if p is collinear with all points already
     * in the line and p itself is not already in the line. Returns true if this
-    * line is changed as a result, false otherwise.
+    * line is changed as a result, false otherwise. Collinearity is tested with
+    * exact slopes, so it is never fooled by floating-point rounding.
     */
    public boolean add(Point p) {
-      if ((line.isEmpty()) || (!(line.contains(p))) && (((line.first()).slopeTo(p)) == (line.last().slopeTo(p)))) {
+      if ((line.isEmpty()) || (!(line.contains(p))) && (Slope.equal(line.first().exactSlopeTo(p), line.last().exactSlopeTo(p)))) {
          line.add(p);
          return true;
       }
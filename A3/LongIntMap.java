@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * LongIntMap.java. A growable open-addressing hash map from non-negative
+ * long keys, such as packed points and grid cells, to non-negative int
+ * values, such as indices into an array of points. Neither keys nor values
+ * are ever boxed.
+ *
+ * @version 2018-02-27
+ *
+ */
+final class LongIntMap {
+
+   /** marks an empty slot; keys are never negative. */
+   private static final long EMPTY = -1L;
+
+   /** returned by get for a key that is not in the map. */
+   static final int NONE = -1;
+
+   private long[] keys;
+   private int[] values;
+   private int size;
+
+   /**
+    * Creates a map able to hold n keys before it has to grow.
+    */
+   LongIntMap(int n) {
+      allocate(Integer.highestOneBit(Math.max(2, 2 * n - 1)) << 1);
+   }
+
+   /**
+    * Returns the value of key, or NONE if key is not in the map.
+    */
+   int get(long key) {
+      int mask = keys.length - 1;
+      int s = hash(key) & mask;
+      while (keys[s] != EMPTY) {
+         if (keys[s] == key) {
+            return values[s];
+         }
+         s = (s + 1) & mask;
+      }
+      return NONE;
+   }
+
+   /**
+    * Maps key to value, replacing any value it had.
+    */
+   void put(long key, int value) {
+      int mask = keys.length - 1;
+      int s = hash(key) & mask;
+      while (keys[s] != EMPTY) {
+         if (keys[s] == key) {
+            values[s] = value;
+            return;
+         }
+         s = (s + 1) & mask;
+      }
+      keys[s] = key;
+      values[s] = value;
+      size++;
+      if (2 * size > keys.length) {
+         grow();
+      }
+   }
+
+   /**
+    * Removes key from the map if it is there. The keys that follow it in
+    * its probe run are shifted back, so lookups never need tombstones.
+    */
+   void remove(long key) {
+      int mask = keys.length - 1;
+      int s = hash(key) & mask;
+      while (keys[s] != key) {
+         if (keys[s] == EMPTY) {
+            return;
+         }
+         s = (s + 1) & mask;
+      }
+      int hole = s;
+      for (s = (s + 1) & mask; keys[s] != EMPTY; s = (s + 1) & mask) {
+         int home = hash(keys[s]) & mask;
+         // The key at s may fill the hole only if its home slot is not
+         // cyclically between the hole and s.
+         if (((s - home) & mask) >= ((s - hole) & mask)) {
+            keys[hole] = keys[s];
+            values[hole] = values[s];
+            hole = s;
+         }
+      }
+      keys[hole] = EMPTY;
+      size--;
+   }
+
+   private void grow() {
+      long[] oldKeys = keys;
+      int[] oldValues = values;
+      allocate(2 * oldKeys.length);
+      int mask = keys.length - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+         if (oldKeys[i] != EMPTY) {
+            int s = hash(oldKeys[i]) & mask;
+            while (keys[s] != EMPTY) {
+               s = (s + 1) & mask;
+            }
+            keys[s] = oldKeys[i];
+            values[s] = oldValues[i];
+         }
+      }
+   }
+
+   private void allocate(int capacity) {
+      keys = new long[capacity];
+      values = new int[capacity];
+      Arrays.fill(keys, EMPTY);
+   }
+
+   /**
+    * Mixes the bits of key so that nearby keys spread across the table.
+    */
+   private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+   }
+
+}
@@ -30,6 +30,20 @@ public final class Point implements Comparable<Point> {
       this.y = y;
    }
 
+   /**
+    * Returns the x coordinate of this point.
+    */
+   int x() {
+      return x;
+   }
+
+   /**
+    * Returns the y coordinate of this point.
+    */
+   int y() {
+      return y;
+   }
+
    /** 
     * Return a string representation of this point.
     * 
@@ -113,6 +127,24 @@ public final class Point implements Comparable<Point> {
       }
       return value;
    }
+
+   /**
+    * Computes the exact slope of the line segment between this point and
+    * the specified point, as a packed Slope. The slope orders the same way
+    * as slopeTo, but is computed and compared without floating point.
+    */
+   public long exactSlopeTo(Point that) {
+      return Slope.between(this, that);
+   }
+
+   /**
+    * Returns a comparator for points with respect to the exact slope each
+    * makes with this point, without using floating point. It is created on
+    * demand rather than held in a field, so points do not pay for it.
+    */
+   public Comparator<Point> exactSlopeOrder() {
+      return new ComparePointsByExactSlope();
+   }
       
    /**
     * Defines a total order for Points based on the slope that two specified points
@@ -139,5 +171,22 @@ public final class Point implements Comparable<Point> {
       }
    
    }
-   
+
+   /**
+    * Defines a total order for Points based on the exact slope that two
+    * specified points make with this point.
+    */
+   private class ComparePointsByExactSlope implements Comparator<Point> {
+
+      /**
+       * Compares two specified points p1 and p2 for order by comparing the
+       * slopes from this point to each with cross-multiplication.
+       */
+      @Override
+      public int compare(Point p1, Point p2) {
+         return Slope.compare(exactSlopeTo(p1), exactSlopeTo(p2));
+      }
+
+   }
+
 }
@@ -0,0 +1,209 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PointFile.java. Reads and writes files of points quickly, for data sets
+ * too large for Scanner. Points are returned as one int array holding the
+ * coordinates in pairs, x0, y0, x1, y1, and so on, so that loading a file
+ * creates no objects per point.
+ *
+ * Two formats are understood. The text format is the one Extractor has
+ * always read: the number of points followed by that many x y pairs,
+ * separated by any whitespace. The binary format is a header of the magic
+ * number MAGIC and the number of points, followed by the x y pairs, every
+ * value a little-endian int. Both are read through a memory-mapped buffer,
+ * so a file may be at most 2GB.
+ *
+ * @version 2018-02-27
+ *
+ */
+public final class PointFile {
+
+   /** the first int of a binary point file; the bytes read "PTS1". */
+   public static final int MAGIC = 0x31535450;
+
+   /** the length in bytes of the binary header. */
+   private static final int HEADER_BYTES = 8;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private PointFile() { }
+
+   /**
+    * Reads the point file at path in whichever format it is in, and
+    * returns its coordinates in pairs. This method throws IOException if
+    * the file cannot be read or is not a well-formed point file.
+    */
+   public static int[] read(Path path) throws IOException {
+      MappedByteBuffer buffer = map(path);
+      if (isBinary(buffer)) {
+         return readBinary(buffer);
+      }
+      return readText(buffer);
+   }
+
+   /**
+    * Writes the coordinate pairs in xy to path in the binary format,
+    * replacing any existing file. This method throws IllegalArgumentException
+    * if xy is null or has odd length, and IOException if the file cannot be
+    * written.
+    */
+   public static void writeBinary(Path path, int[] xy) throws IOException {
+      if ((xy == null) || (xy.length % 2 != 0)) {
+         throw new IllegalArgumentException();
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * xy.length)
+         .order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(xy.length / 2);
+      buffer.asIntBuffer().put(xy);
+      buffer.rewind();
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+      }
+   }
+
+   /**
+    * Returns the points whose coordinates are in pairs in xy. This method
+    * throws IllegalArgumentException if any coordinate is negative.
+    */
+   public static Point[] toPoints(int[] xy) throws IllegalArgumentException {
+      Point[] points = new Point[xy.length / 2];
+      for (int i = 0; i < points.length; i++) {
+         points[i] = new Point(xy[2 * i], xy[2 * i + 1]);
+      }
+      return points;
+   }
+
+   /**
+    * Maps the whole file at path read-only.
+    */
+   private static MappedByteBuffer map(Path path) throws IOException {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+         if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException(path + " is larger than 2GB");
+         }
+         return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+   }
+
+   /**
+    * Returns true if buffer begins with the binary magic number.
+    */
+   private static boolean isBinary(ByteBuffer buffer) {
+      return (buffer.remaining() >= HEADER_BYTES)
+         && (buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0) == MAGIC);
+   }
+
+   /**
+    * Copies the pairs following the binary header in buffer into an array
+    * with a single bulk transfer.
+    */
+   private static int[] readBinary(ByteBuffer buffer) throws IOException {
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      int count = buffer.getInt(4);
+      if ((count < 0) || ((long) count * 8 != buffer.remaining() - HEADER_BYTES)) {
+         throw new IOException("binary point file length does not match its count");
+      }
+      int[] xy = new int[2 * count];
+      buffer.position(HEADER_BYTES);
+      buffer.asIntBuffer().get(xy);
+      return xy;
+   }
+
+   /**
+    * Parses the count and the pairs of the text format from buffer, one byte
+    * at a time.
+    */
+   private static int[] readText(ByteBuffer buffer) throws IOException {
+      Tokenizer in = new Tokenizer(buffer);
+      int count = in.nextInt();
+      if (count < 0) {
+         throw new IOException("negative point count");
+      }
+      // Each point takes at least four bytes: two digits, each preceded
+      // by whitespace. A larger count cannot be right, and is rejected
+      // before it is used to size the array.
+      if (count > in.remaining() / 4) {
+         throw new IOException("point count " + count + " is larger than the file");
+      }
+      int[] xy = new int[2 * count];
+      for (int i = 0; i < xy.length; i++) {
+         xy[i] = in.nextInt();
+      }
+      return xy;
+   }
+
+   /**
+    * Reads whitespace-separated decimal ints from a byte buffer.
+    */
+   private static final class Tokenizer {
+      private final ByteBuffer buffer;
+      private final int limit;
+      private int pos;
+
+      Tokenizer(ByteBuffer buffer) {
+         this.buffer = buffer;
+         this.limit = buffer.limit();
+         this.pos = buffer.position();
+      }
+
+      /**
+       * Returns the next int, throwing IOException at the end of the buffer
+       * or on anything that is not an int.
+       */
+      int nextInt() throws IOException {
+         while ((pos < limit) && isSpace(buffer.get(pos))) {
+            pos++;
+         }
+         if (pos == limit) {
+            throw new IOException("unexpected end of point file");
+         }
+         boolean negative = buffer.get(pos) == '-';
+         if (negative) {
+            pos++;
+         }
+         int start = pos;
+         long value = 0;
+         while (pos < limit) {
+            int d = buffer.get(pos) - '0';
+            if ((d < 0) || (d > 9)) {
+               break;
+            }
+            value = value * 10 + d;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+               throw new IOException("int out of range at byte " + start);
+            }
+            pos++;
+         }
+         if ((pos == start) || ((pos < limit) && !isSpace(buffer.get(pos)))) {
+            throw new IOException("malformed int at byte " + start);
+         }
+         value = negative ? -value : value;
+         if (value > Integer.MAX_VALUE) {
+            throw new IOException("int out of range at byte " + start);
+         }
+         return (int) value;
+      }
+
+      /**
+       * Returns the number of bytes not yet read.
+       */
+      int remaining() {
+         return limit - pos;
+      }
+
+      private static boolean isSpace(byte b) {
+         return (b == ' ') || (b == '\n') || (b == '\r') || (b == '\t') || (b == '\f');
+      }
+   }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Slope.java. Represents the slope between two points exactly, as a
+ * (dy, dx) pair of ints packed into a long, so that slopes can be
+ * compared and tested for equality without floating point.
+ *
+ * A packed slope is normalized so that dx >= 0. A horizontal slope is
+ * (0, 1), a vertical slope is (1, 0), and the degenerate slope between a
+ * point and itself is (0, 0). Otherwise the pair is not reduced, so two
+ * equal slopes may have different encodings; compare them with compare,
+ * or reduce them first if they are to be used as hash keys. Because point
+ * coordinates are never negative, dy and dx always fit in an int and the
+ * cross products used by compare always fit in a long.
+ *
+ * @version 2018-02-27
+ *
+ */
+public final class Slope {
+
+   /** the slope of the line segment between a point and itself. */
+   public static final long DEGENERATE = 0L;
+
+   /** the slope of every vertical line segment. */
+   public static final long VERTICAL = 1L << 32;
+
+   /** the slope of every horizontal line segment. */
+   public static final long HORIZONTAL = 1L;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private Slope() { }
+
+   /**
+    * Returns the packed slope of the line segment from p to q.
+    */
+   public static long between(Point p, Point q) {
+      return of(q.y() - p.y(), q.x() - p.x());
+   }
+
+   /**
+    * Returns the packed slope dy / dx, normalized as described above.
+    */
+   public static long of(int dy, int dx) {
+      if (dx == 0) {
+         return (dy == 0) ? DEGENERATE : VERTICAL;
+      }
+      if (dy == 0) {
+         return HORIZONTAL;
+      }
+      if (dx < 0) {
+         dy = -dy;
+         dx = -dx;
+      }
+      return pack(dy, dx);
+   }
+
+   /**
+    * Returns the dy component of the packed slope s.
+    */
+   public static int dy(long s) {
+      return (int) (s >> 32);
+   }
+
+   /**
+    * Returns the dx component of the packed slope s.
+    */
+   public static int dx(long s) {
+      return (int) s;
+   }
+
+   /**
+    * Compares two packed slopes numerically. Returns a negative integer,
+    * zero, or a positive integer if a is less than, equal to, or greater
+    * than b. As with Point.slopeTo, the degenerate slope is less than every
+    * other slope and the vertical slope is greater than every other slope.
+    * No division is performed.
+    */
+   public static int compare(long a, long b) {
+      if ((a == DEGENERATE) || (b == DEGENERATE)) {
+         return Boolean.compare(a != DEGENERATE, b != DEGENERATE);
+      }
+      return Long.compare((long) dy(a) * dx(b), (long) dy(b) * dx(a));
+   }
+
+   /**
+    * Returns true if the packed slopes a and b are numerically equal.
+    */
+   public static boolean equal(long a, long b) {
+      return compare(a, b) == 0;
+   }
+
+   /**
+    * Returns the packed slope s reduced to lowest terms, so that equal
+    * slopes have equal encodings. The degenerate slope is returned as is.
+    */
+   public static long reduce(long s) {
+      int dy = dy(s);
+      int dx = dx(s);
+      int g = gcd(Math.abs(dy), dx);
+      if (g <= 1) {
+         return s;
+      }
+      return pack(dy / g, dx / g);
+   }
+
+   /**
+    * Returns the packed slope s as a double, with the same value that
+    * Point.slopeTo would return.
+    */
+   public static double toDouble(long s) {
+      if (s == DEGENERATE) {
+         return Double.NEGATIVE_INFINITY;
+      }
+      if (s == VERTICAL) {
+         return Double.POSITIVE_INFINITY;
+      }
+      return (double) dy(s) / dx(s);
+   }
+
+   /**
+    * Returns a string representation of the packed slope s as dy/dx.
+    */
+   public static String toString(long s) {
+      return dy(s) + "/" + dx(s);
+   }
+
+   /**
+    * Packs dy and dx into a long.
+    */
+   private static long pack(int dy, int dx) {
+      return ((long) dy << 32) | (dx & 0xFFFFFFFFL);
+   }
+
+   /**
+    * Returns the greatest common divisor of a and b, which are not
+    * negative, or zero if both are zero.
+    */
+   private static int gcd(int a, int b) {
+      while (b != 0) {
+         int t = a % b;
+         a = b;
+         b = t;
+      }
+      return a;
+   }
+
+}
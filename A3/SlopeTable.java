@@ -0,0 +1,156 @@
+import java.util.Arrays;
+
+/**
+ * SlopeTable.java. An open-addressing hash table from packed slope keys to
+ * small groups of point indices, reused from one anchor point to the next
+ * so that grouping points by slope allocates nothing per anchor.
+ *
+ * Each group counts the points that come before the anchor and keeps a
+ * linked list, threaded through an array indexed by point, of the points
+ * that come after it.
+ *
+ * @version 2018-02-27
+ *
+ */
+final class SlopeTable {
+
+   /** marks an empty slot; -1 is not a valid packed Slope since its dx is negative. */
+   private static final long EMPTY = -1L;
+
+   private final long[] keys;
+   private final int[] before;
+   private final int[] after;
+   private final int[] head;
+   private final int[] next;
+   private final int[] group;
+   private final int mask;
+
+   /** slots in use, so that clear only touches those. */
+   private final int[] used;
+   private int usedCount;
+
+   /**
+    * Creates a table able to group up to n points.
+    */
+   SlopeTable(int n) {
+      int capacity = Integer.highestOneBit(Math.max(2, 2 * n - 1)) << 1;
+      keys = new long[capacity];
+      before = new int[capacity];
+      after = new int[capacity];
+      head = new int[capacity];
+      group = new int[capacity];
+      used = new int[capacity];
+      next = new int[Math.max(1, n)];
+      mask = capacity - 1;
+      Arrays.fill(keys, EMPTY);
+   }
+
+   /**
+    * Empties the table.
+    */
+   void clear() {
+      for (int i = 0; i < usedCount; i++) {
+         keys[used[i]] = EMPTY;
+      }
+      usedCount = 0;
+   }
+
+   /**
+    * Counts one more point that comes before the anchor and whose slope to
+    * it is key. Only the count is kept, not which point it was.
+    */
+   void addBefore(long key) {
+      before[slot(key)]++;
+   }
+
+   /**
+    * Records that point j, which comes after the anchor, has slope key to
+    * it.
+    */
+   void addAfter(long key, int j) {
+      int s = slot(key);
+      after[s]++;
+      next[j] = head[s];
+      head[s] = j;
+   }
+
+   /**
+    * Returns the number of slots in use. Slots are numbered from zero in
+    * the order their keys were first added.
+    */
+   int size() {
+      return usedCount;
+   }
+
+   /** Returns the key of the ith group. */
+   long key(int i) {
+      return keys[used[i]];
+   }
+
+   /**
+    * Returns the number of the group holding key, or -1 if there is none.
+    */
+   int indexOf(long key) {
+      int s = hash(key) & mask;
+      while (keys[s] != EMPTY) {
+         if (keys[s] == key) {
+            return group[s];
+         }
+         s = (s + 1) & mask;
+      }
+      return -1;
+   }
+
+   /** Returns the number of points before the anchor in the ith group. */
+   int before(int i) {
+      return before[used[i]];
+   }
+
+   /** Returns the number of points after the anchor in the ith group. */
+   int after(int i) {
+      return after[used[i]];
+   }
+
+   /**
+    * Returns the first point after the anchor in the ith group, or -1. The
+    * points are listed in the reverse of the order they were added.
+    */
+   int first(int i) {
+      return head[used[i]];
+   }
+
+   /** Returns the point following j in its group, or -1. */
+   int next(int j) {
+      return next[j];
+   }
+
+   /**
+    * Returns the slot holding key, claiming an empty one if needed.
+    */
+   private int slot(long key) {
+      int s = hash(key) & mask;
+      while (keys[s] != EMPTY) {
+         if (keys[s] == key) {
+            return s;
+         }
+         s = (s + 1) & mask;
+      }
+      keys[s] = key;
+      before[s] = 0;
+      after[s] = 0;
+      head[s] = -1;
+      group[s] = usedCount;
+      used[usedCount] = s;
+      usedCount++;
+      return s;
+   }
+
+   /**
+    * Mixes the bits of key so that nearby slopes spread across the table.
+    */
+   private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+   }
+
+}
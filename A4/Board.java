@@ -0,0 +1,70 @@
+import java.util.Arrays;
+
+/**
+ * An immutable word search board, laid out for fast searching: the tiles
+ * are numbered in row-major order, each tile is kept in lower case for
+ * stepping through a Lexicon and in upper case for building result words,
+ * and the neighbors of every tile are computed once.
+ *
+ * @version 3/26/18
+ */
+final class Board {
+
+   /** the number of rows and columns. */
+   final int width;
+
+   /** each tile in lower case. */
+   final String[] lower;
+
+   /** the characters of each tile in upper case. */
+   final char[][] upper;
+
+   /** the tiles adjacent to each tile, including diagonally. */
+   final int[][] neighbors;
+
+   /**
+    * Creates a board from tiles in row-major order. This constructor throws
+    * IllegalArgumentException if letterArray is null, contains null, or is
+    * not square.
+    */
+   Board(String[] letterArray) throws IllegalArgumentException {
+      if (letterArray == null) {
+         throw new IllegalArgumentException();
+      }
+      width = (int) Math.sqrt(letterArray.length);
+      if (width * width != letterArray.length) {
+         throw new IllegalArgumentException();
+      }
+      lower = new String[letterArray.length];
+      upper = new char[letterArray.length][];
+      neighbors = new int[letterArray.length][];
+      int[] scratch = new int[8];
+      for (int t = 0; t < letterArray.length; t++) {
+         if (letterArray[t] == null) {
+            throw new IllegalArgumentException();
+         }
+         lower[t] = letterArray[t].toLowerCase();
+         upper[t] = lower[t].toUpperCase().toCharArray();
+         int row = t / width;
+         int col = t % width;
+         int n = 0;
+         for (int i = Math.max(0, row - 1); i <= Math.min(width - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(width - 1, col + 1); j++) {
+               if ((i != row) || (j != col)) {
+                  scratch[n] = i * width + j;
+                  n++;
+               }
+            }
+         }
+         neighbors[t] = Arrays.copyOf(scratch, n);
+      }
+   }
+
+   /**
+    * Returns the number of tiles.
+    */
+   int size() {
+      return lower.length;
+   }
+
+}
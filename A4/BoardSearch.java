@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the words of a Lexicon on a Board by depth-first search, without
+ * allocating anything but the words it reports. The path is kept in a
+ * reusable char buffer, visited tiles in a bit mask, and the position in
+ * the lexicon as a trie cursor that is stepped over one tile at a time.
+ * Each word is reported once per search, however many paths spell it.
+ *
+ * A BoardSearch holds mutable scratch state, so it must be used by one
+ * thread at a time; the Lexicon and Board it searches may be shared, and
+ * searchAll with a pool gives each of its tasks a BoardSearch of its own.
+ *
+ * @version 3/26/18
+ */
+final class BoardSearch {
+
+   private final Lexicon lexicon;
+   private final Board board;
+
+   /** the visited tiles, one bit each. */
+   private final long[] visited;
+
+   /** the lexicon nodes already reported, one bit each, and which they are. */
+   private final long[] reported;
+   private int[] reportedNodes = new int[16];
+   private int reportedCount;
+
+   /** the upper-case characters of the current path. */
+   private char[] path = new char[16];
+   private int pathLength;
+
+   /** the minimum word length and where found words go, for one search. */
+   private int minLength;
+   private Collection<String> out;
+
+   /**
+    * Creates a search of board for words in lexicon.
+    */
+   BoardSearch(Lexicon lexicon, Board board) {
+      this.lexicon = lexicon;
+      this.board = board;
+      this.visited = new long[(board.size() + 63) >>> 6];
+      this.reported = new long[(lexicon.nodeCount() + 63) >>> 6];
+   }
+
+   /**
+    * Adds to out, in upper case, every word of at least minLength
+    * characters that can be spelled on the board.
+    */
+   void searchAll(int minLength, Collection<String> out) {
+      begin(minLength, out);
+      for (int t = 0; t < board.size(); t++) {
+         start(t);
+      }
+      end();
+   }
+
+   /**
+    * Adds to out, in upper case, every word of at least minLength
+    * characters that can be spelled on the board starting at one of the
+    * tiles from..to-1.
+    */
+   void search(int from, int to, int minLength, Collection<String> out) {
+      begin(minLength, out);
+      for (int t = from; t < to; t++) {
+         start(t);
+      }
+      end();
+   }
+
+   /**
+    * Returns, in upper case, every word of lexicon of at least minLength
+    * characters that can be spelled on board, searching from groups of
+    * start tiles in parallel on pool. Each task has its own BoardSearch,
+    * and the words found by all tasks are merged into one sorted set.
+    */
+   static SortedSet<String> searchAll(ForkJoinPool pool, Lexicon lexicon, Board board, int minLength) {
+      int grain = Math.max(1, board.size() / (pool.getParallelism() * 4));
+      return new TreeSet<String>(pool.invoke(new StartTask(lexicon, board, minLength, 0, board.size(), grain)));
+   }
+
+   private void begin(int minLength, Collection<String> out) {
+      this.minLength = minLength;
+      this.out = out;
+   }
+
+   /**
+    * Clears the reported nodes, touching only those that were set.
+    */
+   private void end() {
+      for (int i = 0; i < reportedCount; i++) {
+         reported[reportedNodes[i] >>> 6] = 0;
+      }
+      reportedCount = 0;
+      out = null;
+   }
+
+   private void start(int t) {
+      int cursor = lexicon.step(Lexicon.ROOT, board.lower[t]);
+      if (lexicon.isPrefix(cursor)) {
+         pathLength = 0;
+         visit(t, cursor, 0);
+      }
+   }
+
+   /**
+    * Searches onward from tile t, which has just been added to the path and
+    * brought the lexicon to cursor, a valid prefix of length characters
+    * before t.
+    */
+   private void visit(int t, int cursor, int length) {
+      char[] tile = board.upper[t];
+      push(tile);
+      length += board.lower[t].length();
+      visited[t >>> 6] |= 1L << t;
+      if (lexicon.isWord(cursor) && (length >= minLength)) {
+         report(cursor);
+      }
+      for (int n : board.neighbors[t]) {
+         if ((visited[n >>> 6] & (1L << n)) == 0) {
+            int next = lexicon.step(cursor, board.lower[n]);
+            if (next != Lexicon.NONE) {
+               visit(n, next, length);
+            }
+         }
+      }
+      visited[t >>> 6] &= ~(1L << t);
+      pathLength -= tile.length;
+   }
+
+   private void push(char[] tile) {
+      if (pathLength + tile.length > path.length) {
+         path = Arrays.copyOf(path, Math.max(pathLength + tile.length, 2 * path.length));
+      }
+      System.arraycopy(tile, 0, path, pathLength, tile.length);
+      pathLength += tile.length;
+   }
+
+   /**
+    * Adds the current path to out unless the word at cursor was already
+    * reported.
+    */
+   private void report(int cursor) {
+      long bit = 1L << cursor;
+      if ((reported[cursor >>> 6] & bit) != 0) {
+         return;
+      }
+      reported[cursor >>> 6] |= bit;
+      if (reportedCount == reportedNodes.length) {
+         reportedNodes = Arrays.copyOf(reportedNodes, 2 * reportedCount);
+      }
+      reportedNodes[reportedCount] = cursor;
+      reportedCount++;
+      out.add(new String(path, 0, pathLength));
+   }
+
+   /**
+    * Searches from the start tiles lo..hi-1, splitting the range in half
+    * until at most grain tiles remain.
+    */
+   private static final class StartTask extends RecursiveTask<List<String>> {
+      private static final long serialVersionUID = 1L;
+
+      private final Lexicon lexicon;
+      private final Board board;
+      private final int minLength;
+      private final int lo;
+      private final int hi;
+      private final int grain;
+
+      StartTask(Lexicon lexicon, Board board, int minLength, int lo, int hi, int grain) {
+         this.lexicon = lexicon;
+         this.board = board;
+         this.minLength = minLength;
+         this.lo = lo;
+         this.hi = hi;
+         this.grain = grain;
+      }
+
+      @Override
+      protected List<String> compute() {
+         if (hi - lo <= grain) {
+            List<String> found = new ArrayList<String>();
+            new BoardSearch(lexicon, board).search(lo, hi, minLength, found);
+            return found;
+         }
+         int mid = (lo + hi) >>> 1;
+         StartTask left = new StartTask(lexicon, board, minLength, lo, mid, grain);
+         StartTask right = new StartTask(lexicon, board, minLength, mid, hi, grain);
+         left.fork();
+         List<String> found = right.compute();
+         List<String> leftFound = left.join();
+         leftFound.addAll(found);
+         return leftFound;
+      }
+   }
+
+}
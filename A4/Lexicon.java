@@ -0,0 +1,289 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable lexicon stored as an array-backed trie, so that a word
+ * search can follow its path through the board one tile at a time.
+ *
+ * A position in the trie is an int, called a cursor. The cursor ROOT
+ * stands for the empty prefix, step moves a cursor forward over the
+ * characters of one tile, and NONE means that no word in the lexicon
+ * begins with the characters stepped over. Every other cursor is a valid
+ * prefix, and isWord tells whether it is also a whole word. Stepping costs
+ * a binary search among the children of one node, which does not depend on
+ * the size of the lexicon.
+ *
+ * Nodes are numbered in breadth-first order, so the children of node n are
+ * the nodes first[n] up to first[n + 1], sorted by the character on the
+ * edge into each of them. A Lexicon never changes once built and may be
+ * shared between threads.
+ *
+ * @version 3/26/18
+ */
+public final class Lexicon {
+
+   /** the cursor for the empty prefix. */
+   public static final int ROOT = 0;
+
+   /** the cursor for a prefix of no word in the lexicon. */
+   public static final int NONE = -1;
+
+   /** the first child of each node; first[n + 1] ends the children of n. */
+   private final int[] first;
+
+   /** the character on the edge into each node. */
+   private final char[] label;
+
+   /** whether each node ends a word. */
+   private final boolean[] word;
+
+   /** the number of words. */
+   private final int size;
+
+   /**
+    * Builds a lexicon from words that are sorted and distinct.
+    */
+   private Lexicon(String[] words) {
+      Builder b = new Builder();
+      for (int i = 0; i < words.length; i++) {
+         b.add(words[i], (i == 0) ? null : words[i - 1]);
+      }
+      int nodes = b.count;
+      first = new int[nodes + 1];
+      label = new char[nodes];
+      word = new boolean[nodes];
+      int[] order = new int[nodes];
+      int tail = 1;
+      for (int head = 0; head < nodes; head++) {
+         int n = order[head];
+         word[head] = b.word[n];
+         label[head] = b.label[n];
+         first[head] = tail;
+         for (int c = b.firstChild[n]; c >= 0; c = b.nextSibling[c]) {
+            order[tail] = c;
+            tail++;
+         }
+      }
+      first[nodes] = tail;
+      size = words.length;
+   }
+
+   /**
+    * Returns a lexicon of the given words, lower-cased. This method throws
+    * IllegalArgumentException if words is null or contains null.
+    */
+   public static Lexicon of(Iterable<String> words) throws IllegalArgumentException {
+      if (words == null) {
+         throw new IllegalArgumentException();
+      }
+      List<String> list = new ArrayList<String>();
+      for (String w : words) {
+         if (w == null) {
+            throw new IllegalArgumentException();
+         }
+         list.add(w.toLowerCase());
+      }
+      String[] sorted = list.toArray(new String[list.size()]);
+      Arrays.sort(sorted);
+      int n = 0;
+      for (int i = 0; i < sorted.length; i++) {
+         if ((n == 0) || !sorted[i].equals(sorted[n - 1])) {
+            sorted[n] = sorted[i];
+            n++;
+         }
+      }
+      return new Lexicon(Arrays.copyOf(sorted, n));
+   }
+
+   /**
+    * Reads a lexicon from the file named fileName, taking the first
+    * whitespace-separated token on each line as a word. This method throws
+    * IllegalArgumentException if fileName is null or cannot be read.
+    */
+   public static Lexicon load(String fileName) throws IllegalArgumentException {
+      if (fileName == null) {
+         throw new IllegalArgumentException();
+      }
+      List<String> words = new ArrayList<String>();
+      try (BufferedReader in = new BufferedReader(new FileReader(fileName))) {
+         String line;
+         while ((line = in.readLine()) != null) {
+            String token = firstToken(line);
+            if (token != null) {
+               words.add(token);
+            }
+         }
+      }
+      catch (IOException e) {
+         throw new IllegalArgumentException("Error loading word list: " + fileName + ": " + e);
+      }
+      return of(words);
+   }
+
+   /**
+    * Returns the number of words in this lexicon.
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the number of nodes in the trie; every cursor other than NONE
+    * is less than this.
+    */
+   int nodeCount() {
+      return word.length;
+   }
+
+   /**
+    * Returns the cursor reached from cursor by stepping over the characters
+    * of s, or NONE if no word begins with them. Stepping from NONE gives
+    * NONE.
+    */
+   public int step(int cursor, CharSequence s) {
+      for (int i = 0; (i < s.length()) && (cursor != NONE); i++) {
+         cursor = step(cursor, s.charAt(i));
+      }
+      return cursor;
+   }
+
+   /**
+    * Returns the cursor reached from cursor by stepping over c, or NONE if
+    * no word begins with the prefix so formed.
+    */
+   public int step(int cursor, char c) {
+      if (cursor == NONE) {
+         return NONE;
+      }
+      int lo = first[cursor];
+      int hi = first[cursor + 1] - 1;
+      while (lo <= hi) {
+         int mid = (lo + hi) >>> 1;
+         if (label[mid] < c) {
+            lo = mid + 1;
+         }
+         else if (label[mid] > c) {
+            hi = mid - 1;
+         }
+         else {
+            return mid;
+         }
+      }
+      return NONE;
+   }
+
+   /**
+    * Returns true if cursor is the end of a word in this lexicon.
+    */
+   public boolean isWord(int cursor) {
+      return (cursor != NONE) && word[cursor];
+   }
+
+   /**
+    * Returns true if cursor is a prefix of at least one word in this
+    * lexicon.
+    */
+   public boolean isPrefix(int cursor) {
+      return (cursor != NONE) && ((cursor != ROOT) || (size > 0));
+   }
+
+   /**
+    * Returns true if s, lower-cased, is a word in this lexicon.
+    */
+   public boolean contains(String s) {
+      return isWord(step(ROOT, s.toLowerCase()));
+   }
+
+   /**
+    * Returns true if s, lower-cased, begins at least one word in this
+    * lexicon.
+    */
+   public boolean hasPrefix(String s) {
+      return isPrefix(step(ROOT, s.toLowerCase()));
+   }
+
+   /**
+    * Returns the first whitespace-separated token in line, or null if there
+    * is none.
+    */
+   private static String firstToken(String line) {
+      int start = 0;
+      while ((start < line.length()) && Character.isWhitespace(line.charAt(start))) {
+         start++;
+      }
+      if (start == line.length()) {
+         return null;
+      }
+      int end = start;
+      while ((end < line.length()) && !Character.isWhitespace(line.charAt(end))) {
+         end++;
+      }
+      return line.substring(start, end);
+   }
+
+   /**
+    * Builds a trie from sorted words with growable first-child and
+    * next-sibling arrays. Because the words are sorted, each word shares a
+    * prefix with the previous one and the rest of it is a new branch, and
+    * the children of every node are added in ascending order.
+    */
+   private static final class Builder {
+      int count = 1;
+      int[] firstChild = {-1};
+      int[] lastChild = {-1};
+      int[] nextSibling = {-1};
+      char[] label = {0};
+      boolean[] word = {false};
+
+      /** the nodes along the path of the previous word. */
+      int[] path = {0};
+
+      void add(String w, String previous) {
+         int common = 0;
+         if (previous != null) {
+            int max = Math.min(w.length(), previous.length());
+            while ((common < max) && (w.charAt(common) == previous.charAt(common))) {
+               common++;
+            }
+         }
+         if (path.length < w.length() + 1) {
+            path = Arrays.copyOf(path, Math.max(w.length() + 1, 2 * path.length));
+         }
+         for (int i = common; i < w.length(); i++) {
+            path[i + 1] = node(path[i], w.charAt(i));
+         }
+         word[path[w.length()]] = true;
+      }
+
+      /** Appends a new last child of parent with the given label. */
+      int node(int parent, char c) {
+         if (count == label.length) {
+            int capacity = 2 * count;
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            label = Arrays.copyOf(label, capacity);
+            word = Arrays.copyOf(word, capacity);
+         }
+         int n = count;
+         count++;
+         firstChild[n] = -1;
+         lastChild[n] = -1;
+         nextSibling[n] = -1;
+         label[n] = c;
+         if (lastChild[parent] < 0) {
+            firstChild[parent] = n;
+         }
+         else {
+            nextSibling[lastChild[parent]] = n;
+         }
+         lastChild[parent] = n;
+         return n;
+      }
+   }
+
+}
@@ -1,11 +1,8 @@
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * My main class.
@@ -15,25 +12,24 @@ import java.util.TreeSet;
 public class MyMainClass implements WordSearchGame {
    
    private boolean lexiconRan = false;
-   private TreeSet<String> lexiconTree;
+   private Lexicon lexicon;
    private SortedSet<String> validWords;
    private List<Integer> wordPath;
    private List<Integer> otherWordPath;
    private Boolean[][] beenVisited;
    private String[][] newBoard;
+   private Board board;
+   private BoardSearch search;
    private int boardSize;
    private int wordSize;
    private int length;
-   private int newMinLength;
    private String result;
    private int result2;
-   private double boardDimensions;
    
    /**
     * Constructor for MyMainClass().
     */
    public MyMainClass() {
-      lexiconTree = new TreeSet<String>();
       validWords = new TreeSet<String>();
       wordPath = new ArrayList<Integer>();
       otherWordPath = new ArrayList<Integer>();
@@ -50,20 +46,9 @@ public class MyMainClass implements WordSearchGame {
       if (fileName == null) {
          throw new IllegalArgumentException();
       }
-      lexiconTree = new TreeSet<String>();
-      try {
-         Scanner s = 
-               new Scanner(new BufferedReader(new FileReader(new File(fileName))));
-         while (s.hasNext()) {
-            String str = s.next();
-            lexiconTree.add(str.toLowerCase());
-            s.nextLine();
-         }
-         lexiconRan = true;
-      }
-      catch (Exception e) {
-         throw new IllegalArgumentException("Error loading word list: " + fileName + ": " + e);
-      } 
+      lexicon = Lexicon.load(fileName);
+      lexiconRan = true;
+      search = null;
    }
    
    /**
@@ -83,20 +68,17 @@ public class MyMainClass implements WordSearchGame {
       if (letterArray == null) {
          throw new IllegalArgumentException();
       }
-      boardDimensions = Math.sqrt(letterArray.length);
-      if (boardDimensions % 1 > 0) {
-         throw new IllegalArgumentException();
-      }
-      else {
-         length = (int) boardDimensions;
-         newBoard = new String[length][length];
-         beenVisited = new Boolean[length][length];
-         for (int i = 0; i < length; i++) {
-            for (int j = 0; j < length; j++) {
-               beenVisited[i][j] = false;
-               newBoard[i][j] = letterArray[boardSize].toLowerCase();
-               boardSize++;
-            }
+      board = new Board(letterArray);
+      search = null;
+      length = board.width;
+      newBoard = new String[length][length];
+      beenVisited = new Boolean[length][length];
+      boardSize = 0;
+      for (int i = 0; i < length; i++) {
+         for (int j = 0; j < length; j++) {
+            beenVisited[i][j] = false;
+            newBoard[i][j] = board.lower[boardSize];
+            boardSize++;
          }
       }
    }
@@ -128,7 +110,6 @@ public class MyMainClass implements WordSearchGame {
     */
    public SortedSet<String> getAllValidWords(int minimumWordLength) throws IllegalArgumentException,
       IllegalStateException {
-      newMinLength = minimumWordLength;
       validWords.clear();
       if (minimumWordLength < 1) {
          throw new IllegalArgumentException();
@@ -136,14 +117,56 @@ public class MyMainClass implements WordSearchGame {
       if (lexiconRan == false) {
          throw new IllegalStateException();
       }
-      for (int i = 0; i < length; i++) {
-         for (int j = 0; j < length; j++) {
-            findWord(newBoard[i][j], i, j);
-         }
+      if (board == null) {
+         return validWords;
+      }
+      if (search == null) {
+         search = new BoardSearch(lexicon, board);
       }
+      search.searchAll(minimumWordLength, validWords);
       return validWords;
    }
    
+   /**
+    * Retrieves all valid words on the game board as getAllValidWords does,
+    * searching from the start tiles in parallel on the common pool.
+    * 
+    * @param minimumWordLength The minimum allowed length (i.e., number of
+    *     characters) for any word found on the board.
+    * @return a new java.util.SortedSet of the words found.
+    * @throws IllegalArgumentException if minimumWordLength < 1
+    * @throws IllegalStateException if loadLexicon has not been called.
+    */
+   public SortedSet<String> getAllValidWordsParallel(int minimumWordLength) {
+      return getAllValidWordsParallel(minimumWordLength, ForkJoinPool.commonPool());
+   }
+   
+   /**
+    * Retrieves all valid words on the game board as getAllValidWords does,
+    * searching from the start tiles in parallel on pool. The board and
+    * lexicon are only read, and every task keeps its own search state, so
+    * the result is the same set that getAllValidWords returns.
+    * 
+    * @param minimumWordLength The minimum allowed length (i.e., number of
+    *     characters) for any word found on the board.
+    * @param pool The pool to run the search tasks on.
+    * @return a new java.util.SortedSet of the words found.
+    * @throws IllegalArgumentException if minimumWordLength < 1 or pool is null
+    * @throws IllegalStateException if loadLexicon has not been called.
+    */
+   public SortedSet<String> getAllValidWordsParallel(int minimumWordLength, ForkJoinPool pool) {
+      if ((minimumWordLength < 1) || (pool == null)) {
+         throw new IllegalArgumentException();
+      }
+      if (lexiconRan == false) {
+         throw new IllegalStateException();
+      }
+      if (board == null) {
+         return new TreeSet<String>();
+      }
+      return BoardSearch.searchAll(pool, lexicon, board, minimumWordLength);
+   }
+   
   /**
    * Computes the cummulative score for the scorable words in the given set.
    * To be scorable, a word must (1) have at least the minimum number of characters,
@@ -191,10 +214,7 @@ public class MyMainClass implements WordSearchGame {
          throw new IllegalStateException();
       }
       
-      if (lexiconTree.contains(wordToCheck.toLowerCase())) {
-         return true;
-      }
-      return false;
+      return lexicon.contains(wordToCheck);
    }  
    
    /**
@@ -215,10 +235,7 @@ public class MyMainClass implements WordSearchGame {
          throw new IllegalStateException();
       }
       
-      if (lexiconTree.ceiling(prefixToCheck).startsWith(prefixToCheck)) {
-         return true;
-      }
-      return false;
+      return lexicon.hasPrefix(prefixToCheck);
    }
    
    /**
@@ -264,33 +281,6 @@ public class MyMainClass implements WordSearchGame {
 
    // MY NEW METHODS
    
-   /**
-    * This method finds words for the getAllValidWords() method.
-    * @param wordToCheck for word to check.
-    * @param x is the x value.
-    * @param y is the y value.
-    */
-   public void findWord(String wordToCheck, int x, int y) {
-      if (!isValidPrefix(wordToCheck)) {
-         return;
-      }
-      beenVisited[x][y] = true;
-      if (isValidWord(wordToCheck) && wordToCheck.length() >= newMinLength) {
-         validWords.add(wordToCheck.toUpperCase());
-      }
-   
-      for (int i = -1; i <= 1; i++) {
-         for (int j = -1; j <= 1; j++) {
-            if ((x + i) <= ((int) length - 1) && (y + j) <= ((int) length - 1) && (x + i) >= 0 && (y + j) >= 0 && !beenVisited[x + i][y + j]) {
-               beenVisited[x + i][y + j] = true;
-               findWord(wordToCheck + newBoard[x + i][y + j], x + i, y + j);
-               beenVisited[x + i][y + j] = false;
-            }
-         }
-      }
-      beenVisited[x][y] = false;
-   }
-
    /**
     * My recursion method for isOnBoard().
     * @param wordToCheck is the word to check.
@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Solves many word search boards against one shared lexicon. The lexicon
+ * is loaded once and never changes, and boards are given in batches, each
+ * board a String[] in the same row-major format as setBoard. The boards of
+ * a batch are solved concurrently on a fixed number of threads with a
+ * bounded queue; when the queue is full, the submitting thread solves the
+ * board itself, which keeps the number of boards waiting bounded.
+ *
+ * Each solved board yields its words, in upper case as getAllValidWords
+ * returns them, and their score as getScoreForWords computes it. Each batch
+ * also reports how long it took, and the solver keeps running totals of
+ * boards, words and time for throughput monitoring. A solver must be
+ * closed when it is no longer needed so that its threads stop.
+ *
+ * @version 3/26/18
+ */
+public final class WordSearchSolver implements AutoCloseable {
+
+   /** boards that may wait in the queue for each thread. */
+   private static final int QUEUE_PER_THREAD = 4;
+
+   private final Lexicon lexicon;
+   private final ThreadPoolExecutor executor;
+
+   /** running totals over all batches. */
+   private final AtomicLong boards = new AtomicLong();
+   private final AtomicLong words = new AtomicLong();
+   private final AtomicLong solveNanos = new AtomicLong();
+
+   /**
+    * Creates a solver for lexicon that runs on the given number of threads.
+    * This constructor throws IllegalArgumentException if lexicon is null
+    * or threads < 1.
+    */
+   public WordSearchSolver(Lexicon lexicon, int threads) throws IllegalArgumentException {
+      if ((lexicon == null) || (threads < 1)) {
+         throw new IllegalArgumentException();
+      }
+      this.lexicon = lexicon;
+      this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+         new ArrayBlockingQueue<Runnable>(threads * QUEUE_PER_THREAD),
+         new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
+               if (e.isShutdown()) {
+                  throw new RejectedExecutionException();
+               }
+               r.run();
+            }
+         });
+   }
+
+   /**
+    * Returns the lexicon that boards are solved against.
+    */
+   public Lexicon lexicon() {
+      return lexicon;
+   }
+
+   /**
+    * Solves every board in boards and returns the results in the same
+    * order. This method throws IllegalArgumentException if boards is null,
+    * if any board is null, contains null, or is not square, or if
+    * minimumWordLength < 1; no board is solved in that case. It throws
+    * IllegalStateException if the solver has been closed, and
+    * InterruptedException if the calling thread is interrupted while
+    * waiting.
+    */
+   public Batch solve(List<String[]> boards, final int minimumWordLength)
+      throws IllegalArgumentException, InterruptedException {
+      if ((boards == null) || (minimumWordLength < 1)) {
+         throw new IllegalArgumentException();
+      }
+      if (executor.isShutdown()) {
+         throw new IllegalStateException();
+      }
+      List<Board> parsed = new ArrayList<Board>(boards.size());
+      for (String[] letterArray : boards) {
+         parsed.add(new Board(letterArray));
+      }
+      long start = System.nanoTime();
+      List<Future<Result>> futures = new ArrayList<Future<Result>>(parsed.size());
+      try {
+         for (final Board board : parsed) {
+            futures.add(executor.submit(new Callable<Result>() {
+               @Override
+               public Result call() {
+                  return solveBoard(board, minimumWordLength);
+               }
+            }));
+         }
+         List<Result> results = new ArrayList<Result>(futures.size());
+         for (Future<Result> f : futures) {
+            results.add(f.get());
+         }
+         return new Batch(results, System.nanoTime() - start);
+      }
+      catch (RejectedExecutionException e) {
+         throw new IllegalStateException(e);
+      }
+      catch (ExecutionException e) {
+         if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+         }
+         throw new IllegalStateException(e.getCause());
+      }
+      finally {
+         for (Future<Result> f : futures) {
+            f.cancel(true);
+         }
+      }
+   }
+
+   /**
+    * Returns the number of boards solved so far.
+    */
+   public long boardsSolved() {
+      return boards.get();
+   }
+
+   /**
+    * Returns the number of words found so far, over all boards.
+    */
+   public long wordsFound() {
+      return words.get();
+   }
+
+   /**
+    * Returns the time spent solving boards so far, in nanoseconds, summed
+    * over all threads.
+    */
+   public long solveNanos() {
+      return solveNanos.get();
+   }
+
+   /**
+    * Stops the solver's threads once any boards already submitted are
+    * solved. Later calls to solve throw IllegalStateException.
+    */
+   @Override
+   public void close() {
+      executor.shutdown();
+   }
+
+   /**
+    * Solves one board on the calling thread.
+    */
+   private Result solveBoard(Board board, int minimumWordLength) {
+      long start = System.nanoTime();
+      SortedSet<String> found = new TreeSet<String>();
+      new BoardSearch(lexicon, board).searchAll(minimumWordLength, found);
+      int score = 0;
+      for (String w : found) {
+         score += (w.length() - minimumWordLength) + 1;
+      }
+      boards.incrementAndGet();
+      words.addAndGet(found.size());
+      solveNanos.addAndGet(System.nanoTime() - start);
+      return new Result(Collections.unmodifiableSortedSet(found), score);
+   }
+
+   /**
+    * The words and score found on one board.
+    */
+   public static final class Result {
+      private final SortedSet<String> words;
+      private final int score;
+
+      Result(SortedSet<String> words, int score) {
+         this.words = words;
+         this.score = score;
+      }
+
+      /**
+       * Returns the words found on the board, in upper case.
+       */
+      public SortedSet<String> words() {
+         return words;
+      }
+
+      /**
+       * Returns the total score of the words found on the board.
+       */
+      public int score() {
+         return score;
+      }
+   }
+
+   /**
+    * The results of one batch of boards, with its timing.
+    */
+   public static final class Batch {
+      private final List<Result> results;
+      private final long elapsedNanos;
+
+      Batch(List<Result> results, long elapsedNanos) {
+         this.results = Collections.unmodifiableList(results);
+         this.elapsedNanos = elapsedNanos;
+      }
+
+      /**
+       * Returns the result for each board, in the order the boards were
+       * given.
+       */
+      public List<Result> results() {
+         return results;
+      }
+
+      /**
+       * Returns the wall-clock time taken to solve the batch, in
+       * nanoseconds.
+       */
+      public long elapsedNanos() {
+         return elapsedNanos;
+      }
+
+      /**
+       * Returns the number of boards solved per second of wall-clock time.
+       */
+      public double boardsPerSecond() {
+         return (elapsedNanos == 0) ? 0 : results.size() / (elapsedNanos / 1e9);
+      }
+   }
+
+}
@@ -0,0 +1,124 @@
+package a1;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * IntSelectorBenchmark.java. Benchmarks the A1 Selector methods on random
+ * int arrays.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IntSelectorBenchmark {
+
+   /**
+    * A random array of n values in [0..n), with the keys queried.
+    */
+   @State(Scope.Benchmark)
+   public static class Values {
+      @Param({"1000", "100000", "1000000"})
+      int n;
+
+      int[] a;
+      int[] scratch;
+      int key;
+      PreparedIntSelector prepared;
+
+      @Setup
+      public void setUp() {
+         a = values(n);
+         scratch = new int[n];
+         key = n / 2;
+         prepared = Selector.prepare(a);
+      }
+   }
+
+   /**
+    * The same kind of array, limited to the sizes that the unprepared
+    * ceiling, which is quadratic, is worth running on.
+    */
+   @State(Scope.Benchmark)
+   public static class SmallValues {
+      @Param({"1000", "10000"})
+      int n;
+
+      int[] a;
+      int key;
+
+      @Setup
+      public void setUp() {
+         a = values(n);
+         key = n / 2;
+      }
+   }
+
+   /**
+    * Returns n random values in [0..n), the same for every run.
+    */
+   static int[] values(int n) {
+      Random random = new Random(n);
+      int[] a = new int[n];
+      for (int i = 0; i < n; i++) {
+         a[i] = random.nextInt(n);
+      }
+      return a;
+   }
+
+   @Benchmark
+   public int min(Values v) {
+      return Selector.min(v.a);
+   }
+
+   @Benchmark
+   public int[] range(Values v) {
+      return Selector.range(v.a, v.n / 4, v.n / 2);
+   }
+
+   @Benchmark
+   public int kmin(Values v) {
+      return Selector.kmin(v.a, 10);
+   }
+
+   @Benchmark
+   public int kminScratch(Values v) {
+      return Selector.kmin(v.a, 10, v.scratch);
+   }
+
+   @Benchmark
+   public int kmaxScratch(Values v) {
+      return Selector.kmax(v.a, 10, v.scratch);
+   }
+
+   @Benchmark
+   public int ceiling(SmallValues v) {
+      return Selector.ceiling(v.a, v.key);
+   }
+
+   @Benchmark
+   public int preparedCeiling(Values v) {
+      return v.prepared.ceiling(v.key);
+   }
+
+   @Benchmark
+   public int[] preparedRange(Values v) {
+      return v.prepared.range(v.n / 4, v.n / 2);
+   }
+
+}
@@ -0,0 +1,125 @@
+package a1;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ParallelSelectorBenchmark.java. Benchmarks how the A1 ParallelSelector
+ * methods scale with the number of pool threads on large random int
+ * arrays. The sequential Selector methods are run on the same arrays as
+ * the baseline.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelSelectorBenchmark {
+
+   /** the k passed to kmin and kmax. */
+   private static final int K = 10;
+
+   /** the bounds passed to range; about one eighth of the values match. */
+   private static final int LOW = -(1 << 28);
+   private static final int HIGH = 1 << 28;
+
+   /**
+    * A random array of n values over the whole int range.
+    */
+   @State(Scope.Benchmark)
+   public static class Values {
+      @Param({"1000000", "10000000"})
+      int n;
+
+      int[] a;
+
+      @Setup
+      public void setUp() {
+         Random random = new Random(n);
+         a = new int[n];
+         for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt();
+         }
+      }
+   }
+
+   /**
+    * A ParallelSelector on a pool of the given number of threads.
+    */
+   @State(Scope.Benchmark)
+   public static class Pool {
+      @Param({"1", "2", "4", "8"})
+      int parallelism;
+
+      ForkJoinPool pool;
+      ParallelSelector selector;
+
+      @Setup
+      public void setUp() {
+         pool = new ForkJoinPool(parallelism);
+         selector = new ParallelSelector(pool, ParallelSelector.DEFAULT_THRESHOLD);
+      }
+
+      @TearDown
+      public void tearDown() {
+         pool.shutdown();
+      }
+   }
+
+   @Benchmark
+   public int min(Pool p, Values v) {
+      return p.selector.min(v.a);
+   }
+
+   @Benchmark
+   public int max(Pool p, Values v) {
+      return p.selector.max(v.a);
+   }
+
+   @Benchmark
+   public int[] range(Pool p, Values v) {
+      return p.selector.range(v.a, LOW, HIGH);
+   }
+
+   @Benchmark
+   public int kmin(Pool p, Values v) {
+      return p.selector.kmin(v.a, K);
+   }
+
+   @Benchmark
+   public int kmax(Pool p, Values v) {
+      return p.selector.kmax(v.a, K);
+   }
+
+   @Benchmark
+   public int sequentialMin(Values v) {
+      return Selector.min(v.a);
+   }
+
+   @Benchmark
+   public int[] sequentialRange(Values v) {
+      return Selector.range(v.a, LOW, HIGH);
+   }
+
+   @Benchmark
+   public int sequentialKmin(Values v) {
+      return Selector.kmin(v.a, K);
+   }
+
+}
@@ -0,0 +1,111 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CollectionSelectorBenchmark.java. Benchmarks the A2 Selector methods on
+ * lists of random Integers.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class CollectionSelectorBenchmark {
+
+   @Param({"1000", "100000"})
+   int n;
+
+   Comparator<Integer> comp = Comparator.naturalOrder();
+   List<Integer> list;
+   TreeSet<Integer> set;
+   SortedView<Integer> view;
+   List<Integer> keys;
+   Integer key;
+
+   /**
+    * Builds a list of n random values in [0..n), the same for every run,
+    * and the sorted collections and keys queried.
+    */
+   @Setup
+   public void setUp() {
+      Random random = new Random(n);
+      list = new ArrayList<Integer>(n);
+      for (int i = 0; i < n; i++) {
+         list.add(random.nextInt(n));
+      }
+      set = new TreeSet<Integer>(list);
+      view = Selector.sortedView(list, comp);
+      keys = new ArrayList<Integer>();
+      for (int i = 1; i <= 8; i++) {
+         keys.add(n * i / 9);
+      }
+      key = n / 2;
+   }
+
+   @Benchmark
+   public Integer min() {
+      return Selector.min(list, comp);
+   }
+
+   @Benchmark
+   public Integer kmin() {
+      return Selector.kmin(list, 10, comp);
+   }
+
+   @Benchmark
+   public Integer kmax() {
+      return Selector.kmax(list, 10, comp);
+   }
+
+   @Benchmark
+   public List<Integer> bottomK() {
+      return Selector.bottomK(list, 10, comp);
+   }
+
+   @Benchmark
+   public List<Integer> topK() {
+      return Selector.topK(list, 10, comp);
+   }
+
+   @Benchmark
+   public Summary<Integer> summarize() {
+      return Selector.summarize(list, comp, keys);
+   }
+
+   @Benchmark
+   public Integer ceiling() {
+      return Selector.ceiling(list, key, comp);
+   }
+
+   @Benchmark
+   public Integer ceilingTreeSet() {
+      return Selector.ceiling(set, key, comp);
+   }
+
+   @Benchmark
+   public Integer sortedViewCeiling() {
+      return view.ceiling(key);
+   }
+
+}
@@ -0,0 +1,141 @@
+package a3;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ExtractorBenchmark.java. Benchmarks the A3 Extractor on generated point
+ * clouds: random points with a number of planted collinear segments.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExtractorBenchmark {
+
+   /** span passed to getLinesWithin; wider than any planted segment. */
+   private static final int SPAN = 256;
+
+   /**
+    * An extractor over a generated cloud of n points.
+    */
+   @State(Scope.Benchmark)
+   public static class Cloud {
+      @Param({"50", "400", "2000"})
+      int n;
+
+      Extractor extractor;
+
+      @Setup
+      public void setUp() {
+         extractor = new Extractor(pointCloud(n, new Random(n)));
+      }
+   }
+
+   /**
+    * The same kind of cloud, limited to the sizes that the brute-force
+    * method is worth running on.
+    */
+   @State(Scope.Benchmark)
+   public static class SmallCloud {
+      @Param({"50", "400"})
+      int n;
+
+      Extractor extractor;
+
+      @Setup
+      public void setUp() {
+         extractor = new Extractor(pointCloud(n, new Random(n)));
+      }
+   }
+
+   @Benchmark
+   public SortedSet<Line> getLinesBrute(SmallCloud c) {
+      return c.extractor.getLinesBrute();
+   }
+
+   @Benchmark
+   public SortedSet<Line> getLinesFast(Cloud c) {
+      return c.extractor.getLinesFast();
+   }
+
+   @Benchmark
+   public SortedSet<Line> getLinesHash(Cloud c) {
+      return c.extractor.getLinesHash();
+   }
+
+   @Benchmark
+   public List<CompactLine> getCompactLines(Cloud c) {
+      return c.extractor.getCompactLines();
+   }
+
+   @Benchmark
+   public SortedSet<Line> getLinesParallel(Cloud c) {
+      return c.extractor.getLinesParallel();
+   }
+
+   @Benchmark
+   public SortedSet<Line> getLinesWithin(Cloud c) {
+      return c.extractor.getLinesWithin(SPAN);
+   }
+
+
+   /**
+    * Returns n distinct points in a 32768 x 32768 grid, about a fifth of
+    * which lie on planted segments of four to eight collinear points.
+    *
+    * @param n       the number of points
+    * @param random  the source of randomness
+    * @return        the generated points
+    */
+   static List<Point> pointCloud(int n, Random random) {
+      int bound = 1 << 15;
+      Set<Long> seen = new HashSet<Long>();
+      List<Point> points = new ArrayList<Point>(n);
+      while (points.size() < n / 5) {
+         int length = 4 + random.nextInt(5);
+         int dx = random.nextInt(41) - 20;
+         int dy = random.nextInt(21);
+         int x = random.nextInt(bound / 2) + bound / 4;
+         int y = random.nextInt(bound / 2);
+         for (int i = 0; i < length && points.size() < n / 5; i++) {
+            add(points, seen, x + i * dx, y + i * dy);
+         }
+      }
+      while (points.size() < n) {
+         add(points, seen, random.nextInt(bound), random.nextInt(bound));
+      }
+      return points;
+   }
+
+
+   /**
+    * Adds the point (x, y) to points unless it is already there.
+    */
+   private static void add(List<Point> points, Set<Long> seen, int x, int y) {
+      if (seen.add(((long) x << 32) | y)) {
+         points.add(new Point(x, y));
+      }
+   }
+
+}
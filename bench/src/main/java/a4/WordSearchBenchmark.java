@@ -0,0 +1,138 @@
+package a4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * WordSearchBenchmark.java. Benchmarks the A4 word search game against the
+ * bundled lexicons on random boards of several sizes. Lexicons are read
+ * from A4/wordfiles, so the benchmarks must be run from the repository
+ * root.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WordSearchBenchmark {
+
+   /** the directory holding the bundled lexicons. */
+   private static final String WORDFILES = "A4/wordfiles/";
+
+   /** the number of boards in each WordSearchSolver batch. */
+   private static final int BATCH_SIZE = 1_000;
+
+   /** letters weighted roughly by their frequency in English. */
+   private static final String LETTERS = "EEEEEEEEEEEETTTTTTTTTAAAAAAAAOOOOOOOIIIIIIINNNNNNN"
+      + "SSSSSSRRRRRRHHHHHLLLLDDDDCCCUUUMMMFFPPGGWWYYBVKXJQZ";
+
+   /**
+    * The name of a bundled lexicon.
+    */
+   @State(Scope.Benchmark)
+   public static class LexiconFile {
+      @Param({"words_small.txt", "OWL.txt"})
+      String lexicon;
+   }
+
+   /**
+    * A game with the lexicon loaded and a random width x width board.
+    */
+   @State(Scope.Benchmark)
+   public static class Game {
+      @Param({"4", "8", "16"})
+      int width;
+
+      MyMainClass game;
+
+      @Setup
+      public void setUp(LexiconFile file) {
+         game = new MyMainClass();
+         game.loadLexicon(WORDFILES + file.lexicon);
+         game.setBoard(board(width, new Random(width)));
+      }
+   }
+
+   /**
+    * A solver for the lexicon, on one thread per available processor, and
+    * a batch of random 4x4 boards.
+    */
+   @State(Scope.Benchmark)
+   public static class Boards {
+      WordSearchSolver solver;
+      List<String[]> boards;
+
+      @Setup
+      public void setUp(LexiconFile file) {
+         boards = new ArrayList<String[]>();
+         Random random = new Random(BATCH_SIZE);
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            boards.add(board(4, random));
+         }
+         int threads = Runtime.getRuntime().availableProcessors();
+         solver = new WordSearchSolver(Lexicon.load(WORDFILES + file.lexicon), threads);
+      }
+
+      @TearDown
+      public void tearDown() {
+         solver.close();
+      }
+   }
+
+   @Benchmark
+   public WordSearchGame loadLexicon(LexiconFile file) {
+      WordSearchGame game = WordSearchGameFactory.createGame();
+      game.loadLexicon(WORDFILES + file.lexicon);
+      return game;
+   }
+
+   @Benchmark
+   public SortedSet<String> getAllValidWords(Game g) {
+      return g.game.getAllValidWords(3);
+   }
+
+   @Benchmark
+   public SortedSet<String> getAllValidWordsParallel(Game g) {
+      return g.game.getAllValidWordsParallel(3);
+   }
+
+   @Benchmark
+   public WordSearchSolver.Batch solve(Boards b) throws InterruptedException {
+      return b.solver.solve(b.boards, 3);
+   }
+
+
+   /**
+    * Returns a random board of width x width letters in row-major order.
+    *
+    * @param width   the number of rows and columns
+    * @param random  the source of randomness
+    * @return        the board
+    */
+   static String[] board(int width, Random random) {
+      String[] board = new String[width * width];
+      for (int i = 0; i < board.length; i++) {
+         board[i] = String.valueOf(LETTERS.charAt(random.nextInt(LETTERS.length())));
+      }
+      return board;
+   }
+
+}
@@ -0,0 +1,67 @@
+package a5;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DoubletsBenchmark.java. Benchmarks A5 Doublets.getMinLadder against the
+ * bundled A4 lexicons. Lexicons are read from A4/wordfiles, so the
+ * benchmarks must be run from the repository root.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class DoubletsBenchmark {
+
+   /** the directory holding the bundled lexicons. */
+   private static final String WORDFILES = "A4/wordfiles/";
+
+   @Param({"words_small.txt", "OWL.txt"})
+   String lexicon;
+
+   /** the start and end words of the ladder, separated by a dash. */
+   @Param({"cat-dog", "cold-warm", "stone-money"})
+   String ladder;
+
+   WordLadderGame game;
+   String start;
+   String end;
+
+   /**
+    * Loads the lexicon and splits the ladder into its two words.
+    */
+   @Setup
+   public void setUp() throws IOException {
+      try (InputStream in = new FileInputStream(WORDFILES + lexicon)) {
+         game = new Doublets(in);
+      }
+      start = ladder.substring(0, ladder.indexOf('-'));
+      end = ladder.substring(ladder.indexOf('-') + 1);
+   }
+
+   @Benchmark
+   public List<String> getMinLadder() {
+      return game.getMinLadder(start, end);
+   }
+
+}
@@ -0,0 +1,91 @@
+package a6;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MarkovModelBenchmark.java. Benchmarks building A6 MarkovModels and
+ * generating text from them, on generated corpora of several lengths.
+ *
+ * @version 2018-04-17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class MarkovModelBenchmark {
+
+   /** the words generated corpora are made of. */
+   private static final String[] WORDS = {
+      "the", "of", "and", "to", "in", "a", "is", "that", "for", "it", "as",
+      "was", "with", "be", "by", "on", "not", "he", "this", "are", "or",
+      "his", "from", "at", "which", "but", "have", "an", "had", "they",
+   };
+
+   /** the order of the models that are built. */
+   private static final int K = 4;
+
+   /** the corpus length, in characters. */
+   @Param({"1000", "5000"})
+   int n;
+
+   String text;
+   MarkovModel model;
+   String kgram;
+
+   /**
+    * Generates the corpus and builds the model that is queried.
+    */
+   @Setup
+   public void setUp() {
+      text = corpus(n, new Random(n));
+      model = new MarkovModel(K, text);
+      kgram = model.getFirstKgram();
+   }
+
+   @Benchmark
+   public MarkovModel build() {
+      return new MarkovModel(K, text);
+   }
+
+   @Benchmark
+   public char getNextChar() {
+      return model.getNextChar(kgram);
+   }
+
+   @Benchmark
+   public String getRandomKgram() {
+      return model.getRandomKgram();
+   }
+
+
+   /**
+    * Returns about n characters of space-separated random words.
+    *
+    * @param n       the corpus length
+    * @param random  the source of randomness
+    * @return        the corpus
+    */
+   static String corpus(int n, Random random) {
+      StringBuilder s = new StringBuilder(n + 16);
+      while (s.length() < n) {
+         s.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+      }
+      return s.substring(0, n);
+   }
+
+}